@@ -0,0 +1,41 @@
+package com.mkorpar.productservice.benchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.mkorpar.productservice.config.jackson.ExchangeRateDeserializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExchangeRateDeserializerBenchmark {
+
+    @Param({"1,034500", "1.234,567800"})
+    private String exchangeRate;
+
+    private final ExchangeRateDeserializer deserializer = new ExchangeRateDeserializer();
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    private String json;
+
+    @Setup
+    public void setUp() {
+        json = "\"" + exchangeRate + "\"";
+    }
+
+    @Benchmark
+    public BigDecimal deserialize() throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            parser.nextToken();
+            return deserializer.deserialize(parser, null);
+        }
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.mkorpar.productservice.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.mkorpar.productservice.data.dtos.PageResDTO;
+import com.mkorpar.productservice.data.dtos.ProductResDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageSerializationBenchmark {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 1, 1);
+
+    @Param({"20", "200", "2000"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private PageResDTO<ProductResDTO> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .build();
+
+        List<ProductResDTO> content = IntStream.range(0, pageSize)
+                .mapToObj(i -> new ProductResDTO(
+                        String.format("PRODUCT%03d", i % 1000),
+                        "Product " + i,
+                        BigDecimal.valueOf(1000 + i, 2),
+                        BigDecimal.valueOf(1100 + i, 2),
+                        i % 2 == 0,
+                        DATE,
+                        0,
+                        null
+                ))
+                .toList();
+        page = PageResDTO.<ProductResDTO>builder()
+                .content(content)
+                .size(pageSize)
+                .numberOfElements(pageSize)
+                .totalElements(pageSize * 10L)
+                .totalPages(10)
+                .first(true)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+}
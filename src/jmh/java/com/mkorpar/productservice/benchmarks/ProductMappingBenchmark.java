@@ -0,0 +1,74 @@
+package com.mkorpar.productservice.benchmarks;
+
+import com.mkorpar.productservice.clients.enums.ExchangeRateCurrency;
+import com.mkorpar.productservice.data.dtos.ProductResDTO;
+import com.mkorpar.productservice.data.models.ExchangeRateSnapshot;
+import com.mkorpar.productservice.data.models.ExchangeRateTable;
+import com.mkorpar.productservice.data.models.Product;
+import com.mkorpar.productservice.mappers.CoreModelMapper;
+import com.mkorpar.productservice.mappers.ProductMapper;
+import com.mkorpar.productservice.mappers.mappings.ProductPricePropertyMap;
+import com.mkorpar.productservice.services.ExchangeRateService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares reflective {@link CoreModelMapper} page mapping with the hand-written {@link ProductMapper}.
+ * The exchange rate service is a constant lambda, so the numbers exclude the cache proxy cost the reflective
+ * mapping pays for every product in production.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductMappingBenchmark {
+
+    private static final BigDecimal RATE = new BigDecimal("1.0345");
+
+    @Param({"20", "200", "2000"})
+    private int pageSize;
+
+    private ExchangeRateService exchangeRateService;
+    private CoreModelMapper coreModelMapper;
+    private ProductMapper productMapper;
+    private List<Product> products;
+
+    @Setup
+    public void setUp() {
+        exchangeRateService = date -> new ExchangeRateTable(date, Map.of(ExchangeRateCurrency.USD, RATE));
+
+        coreModelMapper = new CoreModelMapper(List.of());
+        coreModelMapper.addMappings(new ProductPricePropertyMap(exchangeRateService));
+        productMapper = new ProductMapper();
+
+        products = IntStream.range(0, pageSize)
+                .mapToObj(i -> Product.builder()
+                        .id((long) i)
+                        .code(String.format("PRODUCT%03d", i % 1000))
+                        .name("Product " + i)
+                        .priceEur(BigDecimal.valueOf(1000 + i, 2))
+                        .available(i % 2 == 0)
+                        .build())
+                .toList();
+    }
+
+    @Benchmark
+    public List<ProductResDTO> coreModelMapperMapList() {
+        return coreModelMapper.mapList(products, ProductResDTO.class);
+    }
+
+    @Benchmark
+    public List<ProductResDTO> productMapperMapList() {
+        ExchangeRateSnapshot exchangeRate = exchangeRateService.getEurToUsdExchangeRateSnapshot(LocalDate.now());
+        return productMapper.mapList(products, exchangeRate);
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.mkorpar.productservice.benchmarks;
+
+import com.mkorpar.productservice.clients.enums.ExchangeRateCurrency;
+import com.mkorpar.productservice.data.dtos.ProductResDTO;
+import com.mkorpar.productservice.data.models.ExchangeRateTable;
+import com.mkorpar.productservice.data.models.Product;
+import com.mkorpar.productservice.mappers.mappings.ProductPricePropertyMap;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductPricePropertyMapBenchmark {
+
+    private ModelMapper modelMapper;
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+        modelMapper.addMappings(new ProductPricePropertyMap(
+                date -> new ExchangeRateTable(date, Map.of(ExchangeRateCurrency.USD, new BigDecimal("1.0345")))
+        ));
+
+        product = Product.builder()
+                .id(1L)
+                .code("PRODUCT001")
+                .name("Wireless Mouse")
+                .priceEur(new BigDecimal("10.99"))
+                .available(true)
+                .build();
+    }
+
+    @Benchmark
+    public ProductResDTO mapWithPriceConversion() {
+        return modelMapper.map(product, ProductResDTO.class);
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.mkorpar.productservice.benchmarks;
+
+import com.mkorpar.productservice.ProductServiceApplication;
+import com.mkorpar.productservice.clients.enums.ExchangeRateCurrency;
+import com.mkorpar.productservice.data.dtos.ProductResDTO;
+import com.mkorpar.productservice.data.models.ExchangeRateTable;
+import com.mkorpar.productservice.data.models.Product;
+import com.mkorpar.productservice.data.projections.ProductProjection;
+import com.mkorpar.productservice.mappers.ProductMapper;
+import com.mkorpar.productservice.repositories.ProductRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the product page read path through managed entities in a read-write transaction (entity instances,
+ * dirty-checking snapshots and flush on commit) with constructor projections in a read-only transaction.
+ * Both paths run against the in-memory H2 database of the test profile, run with {@code -prof gc} to compare
+ * {@code gc.alloc.rate.norm} (bytes allocated per page).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductReadPathBenchmark {
+
+    private static final int PRODUCTS = 5000;
+    private static final BigDecimal RATE = new BigDecimal("1.0345");
+
+    @Param({"20", "200", "2000"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private ProductMapper productMapper;
+    private TransactionTemplate readWriteTransaction;
+    private ExchangeRateTable exchangeRates;
+    private Pageable pageable;
+
+    @Setup
+    public void setUp() {
+        SpringApplication application = new SpringApplication(ProductServiceApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setAdditionalProfiles("test");
+        context = application.run(
+                "--spring.docker.compose.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.mkorpar.productservice=WARN"
+        );
+
+        productRepository = context.getBean(ProductRepository.class);
+        productMapper = context.getBean(ProductMapper.class);
+        readWriteTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        exchangeRates = new ExchangeRateTable(LocalDate.now(), Map.of(ExchangeRateCurrency.USD, RATE));
+        pageable = PageRequest.of(1, pageSize);
+
+        productRepository.saveAll(IntStream.range(0, PRODUCTS)
+                .mapToObj(i -> Product.builder()
+                        .code(String.format("P%09d", i))
+                        .name("Product " + i)
+                        .priceEur(BigDecimal.valueOf(1000 + i, 2))
+                        .available(i % 2 == 0)
+                        .build())
+                .toList());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProductResDTO> entityPage() {
+        return readWriteTransaction.execute(status -> {
+            Page<Product> products = productRepository.findAll(pageable);
+            return productMapper.mapList(products.getContent(), exchangeRates.snapshot(ExchangeRateCurrency.USD));
+        });
+    }
+
+    @Benchmark
+    public List<ProductResDTO> projectionPage() {
+        Page<ProductProjection> products = productRepository.findPageBy(pageable);
+        return productMapper.mapList(products.getContent(), exchangeRates, Set.of());
+    }
+
+}
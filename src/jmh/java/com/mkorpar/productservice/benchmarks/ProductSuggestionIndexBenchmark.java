@@ -0,0 +1,44 @@
+package com.mkorpar.productservice.benchmarks;
+
+import com.mkorpar.productservice.data.dtos.ProductSuggestionResDTO;
+import com.mkorpar.productservice.data.models.ProductSuggestionIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductSuggestionIndexBenchmark {
+
+    private static final String[] WORDS = {"wireless", "mouse", "keyboard", "monitor", "curved", "speaker", "cable", "usb"};
+
+    @Param({"10000", "1000000"})
+    private int products;
+
+    @Param({"p00012", "mo"})
+    private String prefix;
+
+    private ProductSuggestionIndex index;
+
+    @Setup
+    public void setUp() {
+        index = ProductSuggestionIndex.build(IntStream.range(0, products)
+                .mapToObj(i -> new ProductSuggestionResDTO(
+                        String.format("P%09d", i),
+                        WORDS[i % WORDS.length] + " " + WORDS[(i / WORDS.length) % WORDS.length] + " " + i
+                ))
+                .iterator(), 1000);
+    }
+
+    @Benchmark
+    public List<ProductSuggestionResDTO> suggest() {
+        return index.suggest(prefix, 10);
+    }
+
+}
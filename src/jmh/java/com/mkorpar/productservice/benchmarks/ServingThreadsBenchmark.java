@@ -0,0 +1,125 @@
+package com.mkorpar.productservice.benchmarks;
+
+import com.mkorpar.productservice.ProductServiceApplication;
+import com.mkorpar.productservice.data.dtos.ProductReqDTO;
+import com.mkorpar.productservice.services.ProductService;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares serving product reads on Tomcat's platform thread pool with serving them on virtual threads, while the
+ * exchange rate API responds after the injected latency.
+ * <p>
+ * The application runs with the test profile on a random port, the {@code virtual} profile is added for virtual
+ * threads. The exchange rate API is a local stub which returns no rates, unavailable rates are not cached and
+ * the fallback is disabled, so every {@code GET /api/v1/products/{code}} waits for an exchange rate load through
+ * the application's client and cache. Every benchmark thread is a client sending one request per operation, so the
+ * sampled percentiles are latencies of single requests. Run with {@code -t} to change the number of concurrent
+ * clients. Clients run in the same JVM as the application, so results are only meaningful on a machine with enough
+ * cores that neither of them is CPU bound.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(400)
+@Fork(1)
+public class ServingThreadsBenchmark {
+
+    private static final String PRODUCT_CODE = "BENCHMARK1";
+
+    private static final byte[] NO_RATES = "[]".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"50", "200"})
+    private long latencyMillis;
+
+    private HttpServer exchangeRateApi;
+    private ExecutorService exchangeRateApiExecutor;
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private HttpRequest productRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        exchangeRateApiExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        exchangeRateApi = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        exchangeRateApi.setExecutor(exchangeRateApiExecutor);
+        exchangeRateApi.createContext("/tecajn-eur/v3", exchange -> {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, NO_RATES.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(NO_RATES);
+            }
+        });
+        exchangeRateApi.start();
+
+        SpringApplication application = new SpringApplication(ProductServiceApplication.class);
+        application.setAdditionalProfiles("virtual".equals(threads) ? new String[]{"test", "virtual"} : new String[]{"test"});
+        context = application.run(
+                "--spring.docker.compose.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.mkorpar.productservice=WARN",
+                // Every load fails with unavailable rates, which is logged as an error
+                "--logging.level.com.mkorpar.productservice.services.impl.DefaultExchangeRateService=OFF",
+                "--server.port=0",
+                "--exchange.rate.api.base.url=http://localhost:" + exchangeRateApi.getAddress().getPort(),
+                "--exchange.rate.cache.negative.ttl=0s",
+                "--exchange.rate.fallback.enabled=false"
+        );
+        context.getBean(ProductService.class)
+                .createProduct(new ProductReqDTO(PRODUCT_CODE, "Benchmark product", new BigDecimal("10.99"), true));
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+        productRequest = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/products/" + PRODUCT_CODE))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        exchangeRateApi.stop(0);
+        exchangeRateApiExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public String getProduct() throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(productRequest, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Unexpected response status " + response.statusCode());
+        }
+        return response.body();
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.mkorpar.productservice.benchmarks;
+
+import com.mkorpar.productservice.controllers.handlers.GlobalExceptionHandler;
+import com.mkorpar.productservice.data.dtos.ProductReqDTO;
+import com.mkorpar.productservice.data.rest.ValidationErrorDataList;
+import com.mkorpar.productservice.mappers.ValidationErrorMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.autoconfigure.jackson.JacksonProperties;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationErrorBenchmark {
+
+    private static final String[] FIELDS = {"code", "name", "priceEur", "available"};
+
+    @Param({"1", "4"})
+    private int errorCount;
+
+    private GlobalExceptionHandler exceptionHandler;
+    private MethodArgumentNotValidException exception;
+
+    @Setup
+    public void setUp() {
+        JacksonProperties jacksonProperties = new JacksonProperties();
+        jacksonProperties.setPropertyNamingStrategy("SNAKE_CASE");
+        exceptionHandler = new GlobalExceptionHandler(new ValidationErrorMapper(jacksonProperties));
+
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(null, "productReqDTO");
+        for (int i = 0; i < errorCount; i++) {
+            bindingResult.addError(new FieldError(
+                    ProductReqDTO.class.getSimpleName(), FIELDS[i % FIELDS.length], "must not be blank"
+            ));
+        }
+        exception = new MethodArgumentNotValidException(null, bindingResult);
+    }
+
+    @Benchmark
+    public ResponseEntity<ValidationErrorDataList> handleValidationException() {
+        return exceptionHandler.handleValidationException(exception);
+    }
+
+}
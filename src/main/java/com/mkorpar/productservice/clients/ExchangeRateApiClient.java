@@ -1,12 +1,12 @@
 package com.mkorpar.productservice.clients;
 
-import com.mkorpar.productservice.clients.enums.ExchangeRateCurrency;
 import com.mkorpar.productservice.data.api.ExchangeRateApiResponse;
 
 import java.time.LocalDate;
+import java.util.List;
 
 public interface ExchangeRateApiClient {
 
-    ExchangeRateApiResponse getExchangeRateAgainstEuro(ExchangeRateCurrency currency, LocalDate date);
+    List<ExchangeRateApiResponse> getExchangeRatesAgainstEuro(LocalDate date);
 
 }
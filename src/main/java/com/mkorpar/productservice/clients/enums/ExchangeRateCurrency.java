@@ -1,5 +1,14 @@
 package com.mkorpar.productservice.clients.enums;
 
+import java.util.Arrays;
+import java.util.Optional;
+
 public enum ExchangeRateCurrency {
-    USD
+    AUD, BAM, CAD, CHF, CZK, DKK, GBP, HUF, JPY, NOK, PLN, RON, SEK, USD;
+
+    public static Optional<ExchangeRateCurrency> fromCode(String code) {
+        return Arrays.stream(values())
+                .filter(currency -> currency.name().equalsIgnoreCase(code))
+                .findFirst();
+    }
 }
@@ -1,13 +1,14 @@
 package com.mkorpar.productservice.clients.impl;
 
 import com.mkorpar.productservice.clients.ExchangeRateApiClient;
-import com.mkorpar.productservice.clients.enums.ExchangeRateCurrency;
 import com.mkorpar.productservice.data.api.ExchangeRateApiResponse;
 import com.mkorpar.productservice.exceptions.ExchangeRateCallNotPermittedException;
 import com.mkorpar.productservice.exceptions.ExchangeRateUnavailableException;
 import com.mkorpar.productservice.exceptions.ExchangeRateUnexpectedException;
 import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -27,82 +28,85 @@ import java.util.List;
 @RequiredArgsConstructor
 public class DefaultExchangeRateApiClient implements ExchangeRateApiClient {
 
+    public static final String REQUESTS_METRIC = "exchange.rate.api.requests";
+
+    private static final String OUTCOME_TAG = "outcome";
+    private static final String SUCCESS_OUTCOME = "success";
+    private static final String UNAVAILABLE_OUTCOME = "unavailable";
+    private static final String ERROR_OUTCOME = "error";
+
     private final RestClient restClient;
+    private final MeterRegistry meterRegistry;
 
     @Value("${exchange.rate.api.url.template}")
     private String urlTemplate;
 
     @Override
-    @CircuitBreaker(name = "exchangeRateApiClient", fallbackMethod = "getExchangeRateAgainstEuroFallback")
-    public ExchangeRateApiResponse getExchangeRateAgainstEuro(ExchangeRateCurrency currency, LocalDate date) {
-        ResponseEntity<List<ExchangeRateApiResponse>> response = sendRequest(urlTemplate, currency, date);
-        validateStatusCode(response.getStatusCode(), currency, date);
-
-        List<ExchangeRateApiResponse> body = response.getBody();
-        validateResponseBody(currency, date, body);
-
-        log.debug("Exchange rate response body for currency={} and date={}: {}.", currency, date, body);
-
-        return body.getFirst();
+    @CircuitBreaker(name = "exchangeRateApiClient", fallbackMethod = "getExchangeRatesAgainstEuroFallback")
+    public List<ExchangeRateApiResponse> getExchangeRatesAgainstEuro(LocalDate date) {
+        // Calls rejected by the open circuit breaker are not timed, they are counted by circuit breaker metrics
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = ERROR_OUTCOME;
+        try {
+            ResponseEntity<List<ExchangeRateApiResponse>> response = sendRequest(urlTemplate, date);
+            validateStatusCode(response.getStatusCode(), date);
+
+            List<ExchangeRateApiResponse> body = response.getBody();
+            validateResponseBody(date, body);
+
+            log.debug("Exchange rate response body for date={}: {}.", date, body);
+
+            outcome = SUCCESS_OUTCOME;
+            return body;
+        } catch (ExchangeRateUnavailableException e) {
+            outcome = UNAVAILABLE_OUTCOME;
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer(REQUESTS_METRIC, OUTCOME_TAG, outcome));
+        }
     }
 
-    private ResponseEntity<List<ExchangeRateApiResponse>> sendRequest(String urlTemplate,
-                                                                      ExchangeRateCurrency currency,
-                                                                      LocalDate date) {
+    private ResponseEntity<List<ExchangeRateApiResponse>> sendRequest(String urlTemplate, LocalDate date) {
         return restClient.get()
-                .uri(urlTemplate, currency, date)
+                .uri(urlTemplate, date)
                 .accept(MediaType.APPLICATION_JSON)
                 .retrieve()
                 .toEntity(new ParameterizedTypeReference<>() {});
     }
 
-    private void validateStatusCode(HttpStatusCode statusCode, ExchangeRateCurrency currency, LocalDate date) {
+    private void validateStatusCode(HttpStatusCode statusCode, LocalDate date) {
         if (!statusCode.equals(HttpStatus.OK)) {
             throw new ExchangeRateUnavailableException(
-                    String.format("Failed to fetch exchange rate for currency %s on date %s. Status code: %d.",
-                            currency, date, statusCode.value()
+                    String.format("Failed to fetch exchange rates on date %s. Status code: %d.",
+                            date, statusCode.value()
                     )
             );
         }
     }
 
-    private void validateResponseBody(ExchangeRateCurrency currency, LocalDate date, List<ExchangeRateApiResponse> body) {
+    private void validateResponseBody(LocalDate date, List<ExchangeRateApiResponse> body) {
         if (body == null || body.isEmpty()) {
             throw new ExchangeRateUnavailableException(
-                    String.format("Exchange rate not sent for currency %s on date %s.",  currency, date)
-            );
-        }
-        if (body.size() > 1) {
-            throw new ExchangeRateUnavailableException(
-                    String.format("Multiple exchange rates sent for currency %s on date %s.",  currency, date)
+                    String.format("Exchange rates not sent on date %s.", date)
             );
         }
     }
 
-    private ExchangeRateApiResponse getExchangeRateAgainstEuroFallback(ExchangeRateUnavailableException e) {
+    private List<ExchangeRateApiResponse> getExchangeRatesAgainstEuroFallback(ExchangeRateUnavailableException e) {
         throw e;
     }
 
-    private ExchangeRateApiResponse getExchangeRateAgainstEuroFallback(ExchangeRateCurrency currency,
-                                                                       LocalDate date,
-                                                                       CallNotPermittedException ignored) {
+    private List<ExchangeRateApiResponse> getExchangeRatesAgainstEuroFallback(LocalDate date,
+                                                                              CallNotPermittedException ignored) {
         throw new ExchangeRateCallNotPermittedException(
-                String.format(
-                        "Circuit breaker is open. Exchange rate is not fetched for currency %s on date %s.",
-                        currency,
-                        date
-                )
+                String.format("Circuit breaker is open. Exchange rates are not fetched on date %s.", date)
         );
     }
 
-    private ExchangeRateApiResponse getExchangeRateAgainstEuroFallback(ExchangeRateCurrency currency,
-                                                                       LocalDate date, Throwable throwable) {
+    private List<ExchangeRateApiResponse> getExchangeRatesAgainstEuroFallback(LocalDate date, Throwable throwable) {
         throw new ExchangeRateUnexpectedException(
-                String.format(
-                        "Unexpected error happened. Exchange rate is not fetched for currency %s on date %s.",
-                        currency,
-                        date
-                ), throwable
+                String.format("Unexpected error happened. Exchange rates are not fetched on date %s.", date),
+                throwable
         );
     }
 
@@ -0,0 +1,84 @@
+package com.mkorpar.productservice.config;
+
+import com.mkorpar.productservice.config.datasource.ReadYourWritesFilter;
+import com.mkorpar.productservice.config.datasource.ReplicaDataSourceRegistrar;
+import com.mkorpar.productservice.config.datasource.ReplicaRoutingDataSource;
+import com.mkorpar.productservice.config.datasource.ReplicaSelection;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Registered only when replica URLs are set, otherwise the auto-configured datasource is used for all queries.
+ * Replicas use the credentials and pool settings of the primary datasource, their datasources are registered
+ * by {@link ReplicaDataSourceRegistrar}.
+ * <p>
+ * Open session in view has to be turned off ({@code spring.jpa.open-in-view=false}), otherwise the entity manager
+ * of a request holds the connection of its first transaction, and a write after a read-only transaction
+ * of the same request would use the replica connection.
+ */
+@Configuration
+@ConditionalOnProperty("datasource.replica.urls")
+@Import(ReplicaDataSourceRegistrar.class)
+public class DataSourceRoutingConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties,
+                                              ObjectProvider<JdbcConnectionDetails> connectionDetails) {
+        DataSourceBuilder<HikariDataSource> builder = properties.initializeDataSourceBuilder().type(HikariDataSource.class);
+        // Connection details are provided by Docker Compose support when it is enabled
+        connectionDetails.ifAvailable(details -> builder
+                .url(details.getJdbcUrl())
+                .username(details.getUsername())
+                .password(details.getPassword())
+                .driverClassName(details.getDriverClassName()));
+
+        HikariDataSource dataSource = builder.build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier(ReplicaDataSourceRegistrar.PRIMARY_DATA_SOURCE) HikariDataSource primaryDataSource,
+            @Qualifier(ReplicaDataSourceRegistrar.REPLICA_QUALIFIER) List<HikariDataSource> replicas,
+            Clock clock,
+            @Value("${datasource.replica.selection}") ReplicaSelection selection,
+            @Value("${datasource.replica.read.your.writes.window}") Duration readYourWritesWindow) {
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, selection, readYourWritesWindow, clock);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(
+            @Value("${datasource.replica.read.your.writes.window}") Duration readYourWritesWindow) {
+        return new ReadYourWritesFilter(readYourWritesWindow);
+    }
+
+    /**
+     * Connection is obtained on the first statement, when the transaction is already marked as read-only,
+     * so the routing datasource can choose between the primary and the replicas.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.mkorpar.productservice.config;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.core.registry.EntryAddedEvent;
+import io.github.resilience4j.core.registry.EntryRemovedEvent;
+import io.github.resilience4j.core.registry.EntryReplacedEvent;
+import io.github.resilience4j.core.registry.RegistryEventConsumer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Locale;
+
+@Configuration
+public class MetricsConfiguration {
+
+    public static final String CIRCUIT_BREAKER_TRANSITIONS_METRIC = "resilience4j.circuitbreaker.state.transitions";
+
+    /**
+     * Circuit breaker state is published by resilience4j as a gauge, transitions between states are counted here,
+     * so short-lived open states are not missed between two scrapes.
+     */
+    @Bean
+    public RegistryEventConsumer<CircuitBreaker> circuitBreakerTransitionsConsumer(MeterRegistry meterRegistry) {
+        return new RegistryEventConsumer<>() {
+            @Override
+            public void onEntryAddedEvent(EntryAddedEvent<CircuitBreaker> event) {
+                countTransitions(event.getAddedEntry(), meterRegistry);
+            }
+
+            @Override
+            public void onEntryRemovedEvent(EntryRemovedEvent<CircuitBreaker> event) {
+            }
+
+            @Override
+            public void onEntryReplacedEvent(EntryReplacedEvent<CircuitBreaker> event) {
+                countTransitions(event.getNewEntry(), meterRegistry);
+            }
+        };
+    }
+
+    private void countTransitions(CircuitBreaker circuitBreaker, MeterRegistry meterRegistry) {
+        circuitBreaker.getEventPublisher().onStateTransition(event -> meterRegistry.counter(
+                CIRCUIT_BREAKER_TRANSITIONS_METRIC,
+                "name", circuitBreaker.getName(),
+                "from", event.getStateTransition().getFromState().name().toLowerCase(Locale.ROOT),
+                "to", event.getStateTransition().getToState().name().toLowerCase(Locale.ROOT)
+        ).increment());
+    }
+
+}
@@ -1,13 +1,28 @@
 package com.mkorpar.productservice.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mkorpar.productservice.services.impl.DefaultExchangeRateService;
+import com.mkorpar.productservice.services.impl.DefaultProductCacheService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.client.RestClient;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneId;
+
 @Configuration
 @EnableCaching
+@EnableScheduling
 public class ProductServiceConfiguration {
 
     @Bean
@@ -17,4 +32,38 @@ public class ProductServiceConfiguration {
                 .build();
     }
 
+    @Bean
+    public Clock clock(@Value("${exchange.rate.zone}") ZoneId zone) {
+        return Clock.system(zone);
+    }
+
+    @Bean
+    @SuppressWarnings("unchecked")
+    public SmartInitializingSingleton exchangeRateCacheRegistrar(
+            ObjectProvider<CaffeineCacheManager> cacheManager,
+            ObjectProvider<DefaultExchangeRateService> exchangeRateService) {
+        // Cache is owned by the service, it is registered only to be managed together with other caches.
+        // Registration is done after initialization, since JPA (used by the service) depends on cache manager.
+        return () -> cacheManager.ifAvailable(manager -> exchangeRateService.ifAvailable(service ->
+                manager.registerCustomCache(
+                        DefaultExchangeRateService.CACHE_NAME,
+                        (Cache<Object, Object>) (Cache<?, ?>) service.getExchangeRateCache()
+                )
+        ));
+    }
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> productCacheCustomizer(
+            @Value("${product.cache.maximum.size}") long maximumSize,
+            @Value("${product.cache.expire.after.write}") Duration expireAfterWrite) {
+        return cacheManager -> cacheManager.registerCustomCache(
+                DefaultProductCacheService.CACHE_NAME,
+                Caffeine.newBuilder()
+                        .maximumSize(maximumSize)
+                        .expireAfterWrite(expireAfterWrite)
+                        .recordStats()
+                        .build()
+        );
+    }
+
 }
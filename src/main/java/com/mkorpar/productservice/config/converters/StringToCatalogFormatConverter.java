@@ -0,0 +1,17 @@
+package com.mkorpar.productservice.config.converters;
+
+import com.mkorpar.productservice.data.enums.CatalogFormat;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+@Component
+public class StringToCatalogFormatConverter implements Converter<String, CatalogFormat> {
+
+    @Override
+    public CatalogFormat convert(String source) {
+        return CatalogFormat.valueOf(source.trim().toUpperCase(Locale.ROOT));
+    }
+
+}
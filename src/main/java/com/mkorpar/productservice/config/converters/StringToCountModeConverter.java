@@ -0,0 +1,17 @@
+package com.mkorpar.productservice.config.converters;
+
+import com.mkorpar.productservice.data.enums.CountMode;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+@Component
+public class StringToCountModeConverter implements Converter<String, CountMode> {
+
+    @Override
+    public CountMode convert(String source) {
+        return CountMode.valueOf(source.trim().toUpperCase(Locale.ROOT));
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.mkorpar.productservice.config.converters;
+
+import com.mkorpar.productservice.clients.enums.ExchangeRateCurrency;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+@Component
+public class StringToExchangeRateCurrencyConverter implements Converter<String, ExchangeRateCurrency> {
+
+    @Override
+    public ExchangeRateCurrency convert(String source) {
+        return ExchangeRateCurrency.fromCode(source.trim())
+                .orElseThrow(() -> new IllegalArgumentException(String.format("Currency %s is not supported.", source)));
+    }
+
+}
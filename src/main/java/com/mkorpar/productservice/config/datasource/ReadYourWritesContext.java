@@ -0,0 +1,47 @@
+package com.mkorpar.productservice.config.datasource;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Last write commit of the caller whose request is processed by the current thread. The context is opened by
+ * {@link ReadYourWritesFilter} with the commit time sent by the caller, write commits of the request update it
+ * and are passed to the listener, which sends them back to the caller.
+ * <p>
+ * Threads without an open context (scheduled tasks, async processing) have no last write commit.
+ */
+public final class ReadYourWritesContext {
+
+    private static final ThreadLocal<ReadYourWritesContext> CURRENT = new ThreadLocal<>();
+
+    private final Consumer<Instant> writeCommitListener;
+    private Instant lastWriteCommit;
+
+    private ReadYourWritesContext(Instant lastWriteCommit, Consumer<Instant> writeCommitListener) {
+        this.lastWriteCommit = lastWriteCommit;
+        this.writeCommitListener = writeCommitListener;
+    }
+
+    public static void open(Instant lastWriteCommit, Consumer<Instant> writeCommitListener) {
+        CURRENT.set(new ReadYourWritesContext(lastWriteCommit, writeCommitListener));
+    }
+
+    public static void close() {
+        CURRENT.remove();
+    }
+
+    static Optional<Instant> getLastWriteCommit() {
+        ReadYourWritesContext context = CURRENT.get();
+        return context == null ? Optional.empty() : Optional.ofNullable(context.lastWriteCommit);
+    }
+
+    static void registerWriteCommit(Instant writeCommit) {
+        ReadYourWritesContext context = CURRENT.get();
+        if (context != null) {
+            context.lastWriteCommit = writeCommit;
+            context.writeCommitListener.accept(writeCommit);
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.mkorpar.productservice.config.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Keeps the last write commit of a caller in a cookie, which expires with the read-your-writes window, so reads
+ * of the caller are routed to the primary after its own writes and reads of other callers keep using replicas.
+ * The cookie holds the commit time, so the window holds on every application instance.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String LAST_WRITE_COOKIE = "last_write_commit";
+
+    private final Duration readYourWritesWindow;
+
+    public ReadYourWritesFilter(Duration readYourWritesWindow) {
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        ReadYourWritesContext.open(getLastWriteCommit(request), writeCommit -> addLastWriteCookie(response, writeCommit));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWritesContext.close();
+        }
+    }
+
+    private Instant getLastWriteCommit(HttpServletRequest request) {
+        Cookie cookie = WebUtils.getCookie(request, LAST_WRITE_COOKIE);
+        if (cookie == null) {
+            return null;
+        }
+        try {
+            return Instant.ofEpochMilli(Long.parseLong(cookie.getValue()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private void addLastWriteCookie(HttpServletResponse response, Instant writeCommit) {
+        // Writes committed after the response is committed are not sent, the response can't be changed anymore
+        if (response.isCommitted()) {
+            return;
+        }
+        ResponseCookie cookie = ResponseCookie.from(LAST_WRITE_COOKIE, String.valueOf(writeCommit.toEpochMilli()))
+                .path("/")
+                .maxAge(readYourWritesWindow)
+                .httpOnly(true)
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.mkorpar.productservice.config.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.support.AutowireCandidateQualifier;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotationMetadata;
+
+import java.util.List;
+
+/**
+ * Registers a datasource bean for every replica URL, so replica pools are managed by the container
+ * and their metrics are bound like the metrics of the primary pool. Replica beans are qualified with
+ * {@link #REPLICA_QUALIFIER}, so they can be injected apart from the primary datasource.
+ */
+public class ReplicaDataSourceRegistrar implements ImportBeanDefinitionRegistrar, EnvironmentAware {
+
+    public static final String REPLICA_QUALIFIER = "replica";
+    public static final String PRIMARY_DATA_SOURCE = "primaryDataSource";
+
+    private static final String REPLICA_URLS_PROPERTY = "datasource.replica.urls";
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void registerBeanDefinitions(AnnotationMetadata importingClassMetadata, BeanDefinitionRegistry registry) {
+        List<String> replicaUrls = Binder.get(environment)
+                .bind(REPLICA_URLS_PROPERTY, Bindable.listOf(String.class))
+                .orElse(List.of());
+        BeanFactory beanFactory = (BeanFactory) registry;
+        for (int replica = 0; replica < replicaUrls.size(); replica++) {
+            String replicaUrl = replicaUrls.get(replica);
+            String poolName = "replica-" + replica;
+            RootBeanDefinition definition = new RootBeanDefinition(
+                    HikariDataSource.class,
+                    () -> createReplica(beanFactory.getBean(PRIMARY_DATA_SOURCE, HikariDataSource.class), replicaUrl, poolName)
+            );
+            definition.addQualifier(new AutowireCandidateQualifier(Qualifier.class, REPLICA_QUALIFIER));
+            registry.registerBeanDefinition("replicaDataSource" + replica, definition);
+        }
+    }
+
+    private HikariDataSource createReplica(HikariConfig primaryConfig, String replicaUrl, String poolName) {
+        HikariDataSource replica = new HikariDataSource();
+        primaryConfig.copyStateTo(replica);
+        replica.setJdbcUrl(replicaUrl);
+        replica.setPoolName(poolName);
+        replica.setReadOnly(true);
+        // Pool is started by the first connection request, so an unavailable replica does not prevent startup
+        replica.setInitializationFailTimeout(-1);
+        return replica;
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.mkorpar.productservice.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Routes connections of read-only transactions to replicas and all other connections to the primary datasource.
+ * The routing key is resolved when a connection is obtained, so the datasource has to be wrapped with
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, which obtains the connection
+ * on the first statement, after the transaction is marked as read-only.
+ * <p>
+ * Replicas lag behind the primary, so reads of a caller are routed to the primary within the read-your-writes
+ * window after a write transaction of the same caller is committed. The last commit of the caller is kept
+ * in {@link ReadYourWritesContext}, so writes of one caller don't route reads of other callers to the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final String PRIMARY = "primary";
+
+    private final List<HikariDataSource> replicas;
+    private final ReplicaSelection selection;
+    private final Duration readYourWritesWindow;
+    private final Clock clock;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary,
+                                    List<HikariDataSource> replicas,
+                                    ReplicaSelection selection,
+                                    Duration readYourWritesWindow,
+                                    Clock clock) {
+        this.replicas = List.copyOf(replicas);
+        this.selection = selection;
+        this.readYourWritesWindow = readYourWritesWindow;
+        this.clock = clock;
+
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(PRIMARY, primary);
+        for (int replica = 0; replica < this.replicas.size(); replica++) {
+            targetDataSources.put(replica, this.replicas.get(replica));
+        }
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+        initialize();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            registerWriteCommit();
+            return PRIMARY;
+        }
+        if (replicas.isEmpty() || isWithinReadYourWritesWindow()) {
+            return PRIMARY;
+        }
+        return switch (selection) {
+            case ROUND_ROBIN -> Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+            case LEAST_CONNECTIONS -> getLeastBusyReplica();
+        };
+    }
+
+    private void registerWriteCommit() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ReadYourWritesContext.registerWriteCommit(clock.instant());
+                }
+            });
+        }
+    }
+
+    private boolean isWithinReadYourWritesWindow() {
+        return ReadYourWritesContext.getLastWriteCommit()
+                .map(lastWriteCommit -> clock.instant().isBefore(lastWriteCommit.plus(readYourWritesWindow)))
+                .orElse(false);
+    }
+
+    private int getLeastBusyReplica() {
+        Comparator<Integer> byConnections = Comparator.comparingInt(replica -> getBusyConnections(replicas.get(replica)));
+        return IntStream.range(0, replicas.size()).boxed()
+                .min(byConnections)
+                .orElseThrow();
+    }
+
+    private int getBusyConnections(HikariDataSource replica) {
+        HikariPoolMXBean pool = replica.getHikariPoolMXBean();
+        return pool == null ? 0 : pool.getActiveConnections() + pool.getThreadsAwaitingConnection();
+    }
+
+}
@@ -0,0 +1,6 @@
+package com.mkorpar.productservice.config.datasource;
+
+public enum ReplicaSelection {
+    ROUND_ROBIN,
+    LEAST_CONNECTIONS
+}
@@ -8,6 +8,7 @@ public final class SwaggerConstants {
 
     public static final String OK = "200";
     public static final String CREATED = "201";
+    public static final String NOT_MODIFIED = "304";
     public static final String BAD_REQUEST = "400";
     public static final String NOT_FOUND = "404";
     public static final String CONFLICT = "409";
@@ -1,11 +1,29 @@
 package com.mkorpar.productservice.controllers;
 
+import com.mkorpar.productservice.clients.enums.ExchangeRateCurrency;
 import com.mkorpar.productservice.constants.SwaggerConstants;
 import com.mkorpar.productservice.data.dtos.PageResDTO;
+import com.mkorpar.productservice.data.dtos.ProductBatchResDTO;
+import com.mkorpar.productservice.data.dtos.ProductChangesResDTO;
+import com.mkorpar.productservice.data.dtos.ProductImportResDTO;
+import com.mkorpar.productservice.data.dtos.ProductPatchReqDTO;
 import com.mkorpar.productservice.data.dtos.ProductReqDTO;
 import com.mkorpar.productservice.data.dtos.ProductResDTO;
+import com.mkorpar.productservice.data.dtos.ProductSuggestionIndexResDTO;
+import com.mkorpar.productservice.data.dtos.ProductSuggestionResDTO;
+import com.mkorpar.productservice.data.enums.CatalogFormat;
+import com.mkorpar.productservice.data.enums.CountMode;
+import com.mkorpar.productservice.data.models.ConditionalResult;
+import com.mkorpar.productservice.data.models.EncodedResponse;
+import com.mkorpar.productservice.data.models.ProductFilter;
 import com.mkorpar.productservice.data.rest.ErrorData;
 import com.mkorpar.productservice.data.rest.ValidationErrorDataList;
+import com.mkorpar.productservice.exceptions.InvalidProductImportException;
+import com.mkorpar.productservice.services.ProductExportService;
+import com.mkorpar.productservice.services.ProductImportService;
+import com.mkorpar.productservice.services.ProductService;
+import com.mkorpar.productservice.services.ProductSuggestionService;
+import com.mkorpar.productservice.utils.ETagUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.Parameters;
@@ -15,19 +33,35 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
-import com.mkorpar.productservice.services.ProductService;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.InputStream;
+import java.math.BigDecimal;
 import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
 
 @Validated
 @RestController
@@ -36,7 +70,20 @@ import java.net.URI;
 @Tag(name = "Products", description = "Product API")
 public class ProductController {
 
+    private static final String CURRENCY_PARAMETER_DESCRIPTION = "Comma separated currency codes, "
+            + "prices in requested currencies are sent in prices field.";
+
+    private static final String GZIP = "gzip";
+    private static final long MAX_SUGGESTIONS = 100;
+    private static final long MAX_CHANGES = 1000;
+
     private final ProductService productService;
+    private final ProductExportService productExportService;
+    private final ProductImportService productImportService;
+    private final ProductSuggestionService productSuggestionService;
+
+    @Value("${product.export.timeout}")
+    private Duration exportTimeout;
 
     @Operation(summary = "Create a new product", description = "Creates a new product.")
     @ApiResponses(value = {
@@ -68,12 +115,92 @@ public class ProductController {
         return ResponseEntity.created(location).body(productService.createProduct(productReqDTO));
     }
 
+    @Operation(
+            summary = "Create products in batch",
+            description = "Creates multiple products. Invalid and duplicate products are reported per product "
+                    + "and don't prevent creation of other products."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = SwaggerConstants.OK, description = "Batch processed."),
+            @ApiResponse(
+                    responseCode = SwaggerConstants.BAD_REQUEST,
+                    description = "Batch contains too many products.",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorData.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = SwaggerConstants.CONFLICT,
+                    description = "Product with the same code was concurrently created.",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorData.class)
+                    )
+            )
+    })
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ProductBatchResDTO> createProducts(@RequestBody List<ProductReqDTO> productReqDTOs) {
+        return ResponseEntity.ok(productService.createProducts(productReqDTOs));
+    }
+
+    @Operation(
+            summary = "Import products",
+            description = "Imports products from newline delimited JSON or CSV (with header) body, which is read as "
+                    + "a stream in the charset of the content type (UTF-8 by default). Invalid rows are skipped, products "
+                    + "whose code already exists are not changed."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = SwaggerConstants.OK, description = "Import processed."),
+            @ApiResponse(
+                    responseCode = SwaggerConstants.BAD_REQUEST,
+                    description = "CSV header does not contain required columns, charset is not supported or "
+                            + "body is larger than product.import.max.size.",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorData.class)
+                    )
+            )
+    })
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            description = "Products as NDJSON (one product JSON per line) or CSV with code, name, price_eur "
+                    + "and optional available columns.",
+            content = {
+                    @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE),
+                    @Content(mediaType = "text/csv")
+            }
+    )
+    @PostMapping(
+            value = "/import",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"},
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<ProductImportResDTO> importProducts(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                              @Parameter(hidden = true) InputStream inputStream) {
+        CatalogFormat format = CatalogFormat.fromMediaType(contentType)
+                .orElseThrow(() -> new InvalidProductImportException(
+                        String.format("Content type %s is not supported.", contentType)
+                ));
+        return ResponseEntity.ok(productImportService.importProducts(format, getCharset(contentType), inputStream));
+    }
+
     @Operation(summary = "Get product by code", description = "Retrieves a product code.")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = SwaggerConstants.OK, description = "Product retrieved successfully."),
+            @ApiResponse(
+                    responseCode = SwaggerConstants.OK,
+                    description = "Product retrieved successfully.",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ProductResDTO.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = SwaggerConstants.NOT_MODIFIED,
+                    description = "Product did not change since the ETag sent in If-None-Match header."
+            ),
             @ApiResponse(
                     responseCode = SwaggerConstants.BAD_REQUEST,
-                    description = "Invalid product code.",
+                    description = "Invalid product code or currency.",
                     content = @Content(
                             mediaType = MediaType.APPLICATION_JSON_VALUE,
                             schema = @Schema(implementation = ValidationErrorDataList.class)
@@ -87,17 +214,92 @@ public class ProductController {
                     )
             )
     })
+    @Parameter(name = "currency", description = CURRENCY_PARAMETER_DESCRIPTION, example = "CHF,GBP")
     @GetMapping(value = "/{code}", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<ProductResDTO> getProduct(@PathVariable
-                                                    @NotBlank
-                                                    @Size(min = 10, max = 10, message = "must be exactly 10 characters long")
-                                                    String code) {
-        return ResponseEntity.ok(productService.getProduct(code));
+    public ResponseEntity<byte[]> getProduct(@PathVariable
+                                             @NotBlank
+                                             @Size(min = 10, max = 10, message = "must be exactly 10 characters long")
+                                             String code,
+                                             @RequestParam(name = "currency", defaultValue = "")
+                                             Set<ExchangeRateCurrency> currencies,
+                                             @Parameter(hidden = true)
+                                             @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false)
+                                             String acceptEncoding,
+                                             @Parameter(hidden = true) WebRequest webRequest) {
+        ConditionalResult<EncodedResponse> result = productService.getConditionalEncodedProduct(code, currencies);
+        // Encoded representations have their own ETags, a client which cached either of them gets 304 Not Modified
+        String gzipETag = ETagUtils.gzipETag(result.eTag());
+        String matchingETag = getMatchingETag(webRequest, result.eTag(), gzipETag);
+        if (matchingETag != null && webRequest.checkNotModified(matchingETag)) {
+            return null;
+        }
+
+        // Body is already serialized, so it is written to the response as is
+        EncodedResponse response = result.body().get();
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (response.hasGzipBody() && acceptsGzip(acceptEncoding)) {
+            return responseBuilder.eTag(gzipETag).header(HttpHeaders.CONTENT_ENCODING, GZIP).body(response.gzipBody());
+        }
+        return responseBuilder.eTag(result.eTag()).body(response.body());
+    }
+
+    @Operation(
+            summary = "Update a product",
+            description = "Updates sent fields of the product. The update is applied only when the sent version "
+                    + "is the current version of the product."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = SwaggerConstants.OK, description = "Product updated successfully."),
+            @ApiResponse(
+                    responseCode = SwaggerConstants.BAD_REQUEST,
+                    description = "Invalid product code or request body.",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ValidationErrorDataList.class)
+                    )
+            ),
+            @ApiResponse(responseCode = SwaggerConstants.NOT_FOUND,
+                    description = "Product not found.",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorData.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = SwaggerConstants.CONFLICT,
+                    description = "Product was changed, sent version is not current.",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorData.class)
+                    )
+            )
+    })
+    @PatchMapping(value = "/{code}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ProductResDTO> updateProduct(@PathVariable
+                                                       @NotBlank
+                                                       @Size(min = 10, max = 10, message = "must be exactly 10 characters long")
+                                                       String code,
+                                                       @RequestBody @Valid ProductPatchReqDTO productPatchReqDTO) {
+        return ResponseEntity.ok(productService.updateProduct(code, productPatchReqDTO));
     }
 
     @Operation(summary = "Get product list", description = "Retrieves a paginated list of products.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = SwaggerConstants.OK, description = "Successfully retrieved paginated list of products."),
+            @ApiResponse(
+                    responseCode = SwaggerConstants.NOT_MODIFIED,
+                    description = "Page did not change since the ETag sent in If-None-Match header."
+            ),
+            @ApiResponse(
+                    responseCode = SwaggerConstants.BAD_REQUEST,
+                    description = "Invalid cursor, count mode, sorting criteria or filter.",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorData.class)
+                    )
+            )
     })
     @Parameters({
             @Parameter(
@@ -114,13 +316,254 @@ public class ProductController {
             ),
             @Parameter(
                     name = "sort",
-                    description = "Sorting criteria: property(,asc|desc)",
+                    description = "Sorting criteria: property(,asc|desc), where property is id, code, name, price_eur "
+                            + "or price_usd. Cursor pagination supports only code or id.",
                     example = "code,asc"
-            )
+            ),
+            @Parameter(
+                    name = "cursor",
+                    description = "Enables cursor pagination. Empty value requests the first page, "
+                            + "next pages are requested with next_cursor of the previous page. "
+                            + "The page parameter is ignored in this mode.",
+                    example = ""
+            ),
+            @Parameter(
+                    name = "count",
+                    description = "Count mode for totals: exact (count query), none (totals are not computed) "
+                            + "or estimated (periodically refreshed estimate, totals are not computed when "
+                            + "products are filtered). Not used for cursor pagination.",
+                    example = "exact",
+                    schema = @Schema(defaultValue = "exact", allowableValues = {"exact", "none", "estimated"})
+            ),
+            @Parameter(name = "available", description = "Returns only available or unavailable products", example = "true"),
+            @Parameter(name = "price_eur_min", description = "Minimum EUR price (inclusive)", example = "10.00"),
+            @Parameter(name = "price_eur_max", description = "Maximum EUR price (inclusive)", example = "99.99"),
+            @Parameter(
+                    name = "price_usd_min",
+                    description = "Minimum USD price (inclusive), converted to EUR price with the current exchange rate",
+                    example = "10.00"
+            ),
+            @Parameter(
+                    name = "price_usd_max",
+                    description = "Maximum USD price (inclusive), converted to EUR price with the current exchange rate",
+                    example = "99.99"
+            ),
+            @Parameter(name = "currency", description = CURRENCY_PARAMETER_DESCRIPTION, example = "CHF,GBP")
     })
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<PageResDTO<ProductResDTO>> getAllProducts(@ParameterObject Pageable pageable) {
-        return ResponseEntity.ok(productService.getAllProducts(pageable));
+    public ResponseEntity<PageResDTO<ProductResDTO>> getAllProducts(@ParameterObject Pageable pageable,
+                                                                    @RequestParam(required = false) String cursor,
+                                                                    @RequestParam(name = "count", defaultValue = "exact")
+                                                                    CountMode countMode,
+                                                                    @RequestParam(required = false) Boolean available,
+                                                                    @RequestParam(name = "price_eur_min", required = false)
+                                                                    @PositiveOrZero BigDecimal priceEurMin,
+                                                                    @RequestParam(name = "price_eur_max", required = false)
+                                                                    @PositiveOrZero BigDecimal priceEurMax,
+                                                                    @RequestParam(name = "price_usd_min", required = false)
+                                                                    @PositiveOrZero BigDecimal priceUsdMin,
+                                                                    @RequestParam(name = "price_usd_max", required = false)
+                                                                    @PositiveOrZero BigDecimal priceUsdMax,
+                                                                    @RequestParam(name = "currency", defaultValue = "")
+                                                                    Set<ExchangeRateCurrency> currencies,
+                                                                    @Parameter(hidden = true) WebRequest webRequest) {
+        ProductFilter filter = new ProductFilter(available, priceEurMin, priceEurMax, priceUsdMin, priceUsdMax);
+        if (cursor != null) {
+            return toConditionalResponse(
+                    productService.getConditionalProducts(cursor, pageable, filter, currencies), webRequest
+            );
+        }
+        return toConditionalResponse(
+                productService.getConditionalProducts(pageable, countMode, filter, currencies), webRequest
+        );
+    }
+
+    @Operation(
+            summary = "Suggest products",
+            description = "Retrieves products whose code or a word of the name starts with the prefix (case-insensitive). "
+                    + "Suggestions are served from an in-memory index."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = SwaggerConstants.OK, description = "Suggestions retrieved successfully."),
+            @ApiResponse(
+                    responseCode = SwaggerConstants.BAD_REQUEST,
+                    description = "Blank prefix or invalid limit.",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ValidationErrorDataList.class)
+                    )
+            )
+    })
+    @Parameters({
+            @Parameter(name = "prefix", description = "Prefix of product code or name word", example = "mou"),
+            @Parameter(
+                    name = "limit",
+                    description = "Maximum number of suggestions",
+                    example = "10",
+                    schema = @Schema(defaultValue = "10", maximum = "100")
+            )
+    })
+    @GetMapping(value = "/suggest", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<ProductSuggestionResDTO>> suggestProducts(@RequestParam @NotBlank String prefix,
+                                                                         @RequestParam(defaultValue = "10")
+                                                                         @Min(1)
+                                                                         @Max(MAX_SUGGESTIONS)
+                                                                         int limit) {
+        return ResponseEntity.ok(productSuggestionService.suggestProducts(prefix.strip(), limit));
+    }
+
+    @Operation(summary = "Get suggestion index statistics", description = "Retrieves size and memory usage of the suggestion index.")
+    @ApiResponse(responseCode = SwaggerConstants.OK, description = "Statistics retrieved successfully.")
+    @GetMapping(value = "/suggest/index", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ProductSuggestionIndexResDTO> getSuggestionIndex() {
+        return ResponseEntity.ok(productSuggestionService.getIndexStatistics());
+    }
+
+    @Operation(summary = "Rebuild suggestion index", description = "Rebuilds the suggestion index from all products.")
+    @ApiResponse(responseCode = SwaggerConstants.OK, description = "Index rebuilt successfully.")
+    @PostMapping(value = "/suggest/index", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ProductSuggestionIndexResDTO> rebuildSuggestionIndex() {
+        return ResponseEntity.ok(productSuggestionService.rebuildIndex());
+    }
+
+    @Operation(
+            summary = "Get product changes",
+            description = "Retrieves products created or changed after the token, ordered by the change. "
+                    + "Following changes are requested with next_since of the previous response."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = SwaggerConstants.OK, description = "Changes retrieved successfully."),
+            @ApiResponse(
+                    responseCode = SwaggerConstants.BAD_REQUEST,
+                    description = "Invalid token or limit.",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorData.class)
+                    )
+            )
+    })
+    @Parameters({
+            @Parameter(
+                    name = "since",
+                    description = "Opaque token of the last seen change, empty value requests changes from the start.",
+                    example = ""
+            ),
+            @Parameter(
+                    name = "limit",
+                    description = "Maximum number of changed products",
+                    example = "100",
+                    schema = @Schema(defaultValue = "100", maximum = "1000")
+            )
+    })
+    @GetMapping(value = "/changes", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ProductChangesResDTO> getProductChanges(@RequestParam(defaultValue = "") String since,
+                                                                  @RequestParam(defaultValue = "100")
+                                                                  @Min(1)
+                                                                  @Max(MAX_CHANGES)
+                                                                  int limit) {
+        return ResponseEntity.ok(productService.getProductChanges(since, limit));
+    }
+
+    @Operation(
+            summary = "Export all products",
+            description = "Streams all products as newline delimited JSON or CSV, ordered by creation."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = SwaggerConstants.OK, description = "Products exported successfully."),
+            @ApiResponse(
+                    responseCode = SwaggerConstants.BAD_REQUEST,
+                    description = "Invalid export format or currency.",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            schema = @Schema(implementation = ErrorData.class)
+                    )
+            )
+    })
+    @Parameters({
+            @Parameter(
+                    name = "format",
+                    description = "Export format: ndjson (one product JSON per line) or csv",
+                    example = "ndjson",
+                    schema = @Schema(defaultValue = "ndjson", allowableValues = {"ndjson", "csv"})
+            ),
+            @Parameter(name = "currency", description = CURRENCY_PARAMETER_DESCRIPTION, example = "CHF,GBP")
+    })
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public ResponseEntity<StreamingResponseBody> exportProducts(@RequestParam(name = "format", defaultValue = "ndjson")
+                                                                CatalogFormat format,
+                                                                @RequestParam(name = "currency", defaultValue = "")
+                                                                Set<ExchangeRateCurrency> currencies,
+                                                                @Parameter(hidden = true) WebRequest webRequest) {
+        // Streaming the whole catalog takes longer than other async requests, so the export has its own timeout
+        WebAsyncUtils.getAsyncManager(webRequest).getAsyncWebRequest().setTimeout(exportTimeout.toMillis());
+        ContentDisposition contentDisposition = ContentDisposition.attachment()
+                .filename("products." + format.getValue())
+                .build();
+
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString())
+                .body(outputStream -> productExportService.exportProducts(format, currencies, outputStream));
+    }
+
+    /**
+     * Body is mapped only when the ETag does not match the If-None-Match header,
+     * otherwise 304 Not Modified is sent with the ETag header set by the request.
+     */
+    private <T> ResponseEntity<T> toConditionalResponse(ConditionalResult<T> result, WebRequest webRequest) {
+        if (webRequest.checkNotModified(result.eTag())) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(result.eTag()).body(result.body().get());
+    }
+
+    /**
+     * Returns the given ETag which matches the If-None-Match header, or null when none of them matches.
+     * ETag header of the response is set only for the matching ETag, so it can be set for the sent encoding later.
+     */
+    private static String getMatchingETag(WebRequest webRequest, String... eTags) {
+        String ifNoneMatch = webRequest.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return null;
+        }
+        List<ETag> requestETags = ETag.parse(ifNoneMatch);
+        for (String eTag : eTags) {
+            ETag candidate = ETag.create(eTag);
+            if (requestETags.stream()
+                    .anyMatch(requestETag -> requestETag.isWildcard() || requestETag.compare(candidate, false))) {
+                return eTag;
+            }
+        }
+        return null;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String encoding : acceptEncoding.split(",")) {
+            String[] parameters = encoding.split(";");
+            String name = parameters[0].trim();
+            boolean rejected = parameters.length > 1 && parameters[1].trim().matches("q=0(\\.0*)?");
+            if ((GZIP.equalsIgnoreCase(name) || "*".equals(name)) && !rejected) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Import body without a charset parameter is read as UTF-8, which is also the encoding of the product export.
+     */
+    private static Charset getCharset(MediaType contentType) {
+        try {
+            Charset charset = contentType.getCharset();
+            return charset == null ? StandardCharsets.UTF_8 : charset;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidProductImportException(
+                    String.format("Charset %s is not supported.", contentType.getParameter("charset"))
+            );
+        }
     }
 
 }
@@ -1,67 +1,44 @@
 package com.mkorpar.productservice.controllers.handlers;
 
-import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.mkorpar.productservice.data.rest.ErrorData;
 import com.mkorpar.productservice.data.rest.ValidationErrorData;
 import com.mkorpar.productservice.data.rest.ValidationErrorDataList;
+import com.mkorpar.productservice.exceptions.BatchSizeExceededException;
 import com.mkorpar.productservice.exceptions.DuplicateProductCodeException;
+import com.mkorpar.productservice.exceptions.InvalidCursorException;
+import com.mkorpar.productservice.exceptions.InvalidProductImportException;
 import com.mkorpar.productservice.exceptions.ProductNotFoundException;
-import jakarta.validation.ConstraintViolation;
+import com.mkorpar.productservice.exceptions.ProductVersionConflictException;
+import com.mkorpar.productservice.exceptions.UnsupportedSortException;
+import com.mkorpar.productservice.mappers.ValidationErrorMapper;
 import jakarta.validation.ConstraintViolationException;
-import jakarta.validation.Path;
-import org.springframework.boot.autoconfigure.jackson.JacksonProperties;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
-import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
-import com.mkorpar.productservice.utils.PropertyNamingStrategyUtils;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
-import java.util.*;
+import java.util.List;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
-    private final PropertyNamingStrategies.NamingBase namingStrategy;
+    private final ValidationErrorMapper validationErrorMapper;
 
-    public GlobalExceptionHandler(JacksonProperties jacksonProperties) {
-        this.namingStrategy = PropertyNamingStrategyUtils.getStrategy(jacksonProperties.getPropertyNamingStrategy());
+    public GlobalExceptionHandler(ValidationErrorMapper validationErrorMapper) {
+        this.validationErrorMapper = validationErrorMapper;
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ValidationErrorDataList> handleValidationException(MethodArgumentNotValidException e) {
-        return createResponse(getValidationErrors(e.getBindingResult()));
-    }
-
-    private List<ValidationErrorData> getValidationErrors(BindingResult bindingResult) {
-        return bindingResult.getFieldErrors().stream()
-                .map(error -> new ValidationErrorData(
-                        namingStrategy.translate(error.getField()),
-                        Objects.requireNonNull(error.getDefaultMessage(), "")
-                )).toList();
+        return createResponse(validationErrorMapper.mapFieldErrors(e.getBindingResult().getFieldErrors()));
     }
 
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<ValidationErrorDataList> handleViolationException(ConstraintViolationException e) {
-        return createResponse(getValidationErrors(e.getConstraintViolations()));
-    }
-
-    private List<ValidationErrorData> getValidationErrors(Set<ConstraintViolation<?>> violations) {
-        return violations.stream()
-                .map(violation -> new ValidationErrorData(
-                        namingStrategy.translate(getFieldName(violation.getPropertyPath())),
-                        Objects.requireNonNull(violation.getMessage(), "")
-                )).toList();
-    }
-
-    private String getFieldName(Path propertyPath) {
-        String fieldName = "";
-        for (Path.Node node : propertyPath) {
-            fieldName = node.getName();
-        }
-        return fieldName;
+        return createResponse(validationErrorMapper.mapList(e.getConstraintViolations()));
     }
 
     private ResponseEntity<ValidationErrorDataList> createResponse(List<ValidationErrorData> validationErrors) {
@@ -78,6 +55,35 @@ public class GlobalExceptionHandler {
         return handleException(e, HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(ProductVersionConflictException.class)
+    public ResponseEntity<ErrorData> handleProductVersionConflictException(ProductVersionConflictException e) {
+        return handleException(e, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorData> handleTypeMismatchException(MethodArgumentTypeMismatchException e) {
+        ErrorData errorData = new ErrorData(
+                e.getClass().getSimpleName(),
+                String.format("Invalid value %s for parameter %s.", e.getValue(), e.getName())
+        );
+        return ResponseEntity.badRequest().body(errorData);
+    }
+
+    @ExceptionHandler({InvalidCursorException.class, UnsupportedSortException.class})
+    public ResponseEntity<ErrorData> handleInvalidPaginationException(RuntimeException e) {
+        return handleException(e, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(BatchSizeExceededException.class)
+    public ResponseEntity<ErrorData> handleBatchSizeExceededException(BatchSizeExceededException e) {
+        return handleException(e, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidProductImportException.class)
+    public ResponseEntity<ErrorData> handleInvalidProductImportException(InvalidProductImportException e) {
+        return handleException(e, HttpStatus.BAD_REQUEST);
+    }
+
     private ResponseEntity<ErrorData> handleException(Exception e, HttpStatusCode status) {
         ErrorData errorData = new ErrorData(e.getClass().getSimpleName(), e.getMessage());
         return ResponseEntity.status(status).body(errorData);
@@ -10,6 +10,9 @@ import java.math.BigDecimal;
 @Data
 public class ExchangeRateApiResponse {
 
+    @JsonProperty("valuta")
+    private String currency;
+
     @JsonProperty("srednji_tecaj")
     @JsonDeserialize(using = ExchangeRateDeserializer.class)
     private BigDecimal middleRate;
@@ -1,8 +1,10 @@
 package com.mkorpar.productservice.data.dtos;
 
+import com.mkorpar.productservice.data.enums.CountMode;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Builder;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
@@ -11,20 +13,37 @@ import java.util.List;
 public record PageResDTO<T>(
         @Schema(description = "List of items for the current page.")
         List<T> content,
-        @Schema(description = "Current page number.", example = "0")
-        int page,
-        @Schema(description = "Total number of pages.", example = "10", name = "total_pages")
-        int totalPages,
+        @Schema(description = "Current page number. Not set for cursor pagination.", example = "0", nullable = true)
+        Integer page,
+        @Schema(description = "Total number of pages. Not set for cursor pagination and none count mode.",
+                example = "10",
+                name = "total_pages",
+                nullable = true
+        )
+        Integer totalPages,
         @Schema(description = "Size of the page.", example = "20")
         int size,
         @Schema(description = "Number of elements in the current page.", example = "20", name = "number_of_elements")
         int numberOfElements,
-        @Schema(description = "Total number of elements across all pages.", example = "200", name = "total_elements")
-        long totalElements,
+        @Schema(description = "Total number of elements across all pages. "
+                        + "Not set for cursor pagination and none count mode.",
+                example = "200",
+                name = "total_elements",
+                nullable = true
+        )
+        Long totalElements,
         @Schema(description = "Indicates if this is the first page.", example = "true")
         boolean first,
         @Schema(description = "Indicates if this is the last page.", example = "false")
-        boolean last
+        boolean last,
+        @Schema(description = "Opaque cursor of the next page. Set only for cursor pagination when next page exists.",
+                example = "Y29kZTpBU0M6MjA6UFJPRFVDVDAyMA",
+                name = "next_cursor",
+                nullable = true
+        )
+        String nextCursor,
+        @Schema(description = "Count mode which produced the totals.", example = "exact", name = "count_mode")
+        CountMode countMode
 ) {
     public static <T> PageResDTO<T> from(Page<?> page, List<T> content) {
         return new PageResDTO<>(
@@ -35,7 +54,43 @@ public record PageResDTO<T>(
                 page.getNumberOfElements(),
                 page.getTotalElements(),
                 page.isFirst(),
-                page.isLast()
+                page.isLast(),
+                null,
+                CountMode.EXACT
         );
     }
+
+    public static <T> PageResDTO<T> from(Slice<?> slice, List<T> content, Long totalElements, CountMode countMode) {
+        return new PageResDTO<>(
+                content,
+                slice.getNumber(),
+                totalElements == null ? null : getTotalPages(totalElements, slice.getSize()),
+                slice.getSize(),
+                slice.getNumberOfElements(),
+                totalElements,
+                slice.isFirst(),
+                !slice.hasNext(),
+                null,
+                countMode
+        );
+    }
+
+    public static <T> PageResDTO<T> from(Slice<?> slice, List<T> content, boolean first, String nextCursor) {
+        return new PageResDTO<>(
+                content,
+                null,
+                null,
+                slice.getSize(),
+                slice.getNumberOfElements(),
+                null,
+                first,
+                !slice.hasNext(),
+                nextCursor,
+                CountMode.NONE
+        );
+    }
+
+    private static int getTotalPages(long totalElements, int size) {
+        return size == 0 ? 1 : (int) Math.ceil((double) totalElements / size);
+    }
 }
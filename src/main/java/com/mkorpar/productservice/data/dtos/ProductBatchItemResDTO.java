@@ -0,0 +1,33 @@
+package com.mkorpar.productservice.data.dtos;
+
+import com.mkorpar.productservice.data.enums.BatchItemStatus;
+import com.mkorpar.productservice.data.rest.ValidationErrorData;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Result of creating a single product of the batch.")
+public record ProductBatchItemResDTO(
+        @Schema(description = "Position of the product in the request body.", example = "0")
+        int index,
+        @Schema(description = "Product code sent in the request.", example = "PRODUCT001", nullable = true)
+        String code,
+        @Schema(description = "Outcome of the product creation.", example = "created")
+        BatchItemStatus status,
+        @Schema(description = "Created product. Set only when product is created.", nullable = true)
+        ProductResDTO product,
+        @Schema(description = "Validation errors. Set only when product is invalid.", nullable = true)
+        List<ValidationErrorData> errors
+) {
+    public static ProductBatchItemResDTO created(int index, ProductResDTO product) {
+        return new ProductBatchItemResDTO(index, product.getCode(), BatchItemStatus.CREATED, product, null);
+    }
+
+    public static ProductBatchItemResDTO invalid(int index, String code, List<ValidationErrorData> errors) {
+        return new ProductBatchItemResDTO(index, code, BatchItemStatus.INVALID, null, errors);
+    }
+
+    public static ProductBatchItemResDTO duplicate(int index, String code) {
+        return new ProductBatchItemResDTO(index, code, BatchItemStatus.DUPLICATE, null, null);
+    }
+}
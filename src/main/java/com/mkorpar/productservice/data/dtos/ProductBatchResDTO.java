@@ -0,0 +1,21 @@
+package com.mkorpar.productservice.data.dtos;
+
+import com.mkorpar.productservice.data.enums.BatchItemStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Response body containing results of batch product creation.")
+public record ProductBatchResDTO(
+        @Schema(description = "Number of created products.", example = "2")
+        int created,
+        @Schema(description = "Number of products which were not created.", example = "1")
+        int failed,
+        @Schema(description = "Per product results, in the order of the request body.")
+        List<ProductBatchItemResDTO> items
+) {
+    public static ProductBatchResDTO from(List<ProductBatchItemResDTO> items) {
+        int created = (int) items.stream().filter(item -> item.status() == BatchItemStatus.CREATED).count();
+        return new ProductBatchResDTO(created, items.size() - created, items);
+    }
+}
@@ -0,0 +1,20 @@
+package com.mkorpar.productservice.data.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Batch of changed products.")
+public record ProductChangesResDTO(
+        @Schema(description = "Products changed after the requested token, in the order of their changes.")
+        List<ProductResDTO> content,
+        @Schema(description = "Token to request the following changes with, "
+                        + "equal to the requested token when there are no changes.",
+                example = "MTI6MzQ",
+                name = "next_since"
+        )
+        String nextSince,
+        @Schema(description = "Indicates if more changes are available right away.", example = "false", name = "has_more")
+        boolean hasMore
+) {
+}
@@ -0,0 +1,14 @@
+package com.mkorpar.productservice.data.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Response body containing results of product import.")
+public record ProductImportResDTO(
+        @Schema(description = "Number of inserted products.", example = "998")
+        long inserted,
+        @Schema(description = "Number of valid products whose code already exists or repeats in the import.", example = "1")
+        long duplicate,
+        @Schema(description = "Number of rows skipped because they are malformed or invalid.", example = "1")
+        long skipped
+) {
+}
@@ -0,0 +1,52 @@
+package com.mkorpar.productservice.data.dtos;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "Request body for partial update of a product, fields which are not sent are not changed.")
+public class ProductPatchReqDTO {
+
+    @Pattern(regexp = ".*\\S.*", message = "must not be blank")
+    @Size(max = 255, message = "must be up to 255 characters long")
+    @Schema(description = "Name of the product.", example = "Wireless Mouse", maxLength = 255, nullable = true)
+    private String name;
+
+    @DecimalMin(value = "0.0", inclusive = false)
+    @Digits(
+            integer = 10,
+            fraction = 2,
+            message = "must be less or equal to 9999999999.99 and have up to 2 decimal places"
+    )
+    @Schema(description = "Price of the product in EUR.",
+            example = "10.99",
+            minimum = "0.01",
+            maximum = "9999999999.99",
+            name = "price_eur",
+            nullable = true
+    )
+    private BigDecimal priceEur;
+
+    @Schema(description = "Indicates if the product is available.", nullable = true)
+    private Boolean available;
+
+    @NotNull
+    @Schema(description = "Version of the product the update is based on.", example = "1")
+    private Long version;
+
+    /**
+     * Update without changed fields would only increment the version, so at least one field has to be sent.
+     */
+    @JsonIgnore
+    @AssertTrue(message = "at least one of name, price_eur or available must be sent")
+    public boolean isAnyFieldSent() {
+        return name != null || priceEur != null || available != null;
+    }
+
+}
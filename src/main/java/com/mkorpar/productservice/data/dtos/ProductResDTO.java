@@ -1,11 +1,15 @@
 package com.mkorpar.productservice.data.dtos;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.mkorpar.productservice.clients.enums.ExchangeRateCurrency;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
 
 @Data
 @NoArgsConstructor
@@ -28,4 +32,16 @@ public class ProductResDTO {
     @Schema(description = "Indicates if the product is available.", example = "true")
     private boolean available;
 
+    @Schema(description = "Effective date of the exchange rate used for USD price.", example = "2025-01-01",
+            name = "exchange_rate_date", nullable = true)
+    private LocalDate exchangeRateDate;
+
+    @Schema(description = "Version of the product, sent with partial updates to detect concurrent changes.", example = "1")
+    private long version;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Prices of the product in requested currencies, null price when the rate is not available.",
+            example = "{\"CHF\": 10.31, \"GBP\": 9.12}", nullable = true)
+    private Map<ExchangeRateCurrency, BigDecimal> prices;
+
 }
@@ -0,0 +1,14 @@
+package com.mkorpar.productservice.data.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Statistics of the product suggestion index.")
+public record ProductSuggestionIndexResDTO(
+        @Schema(description = "Number of indexed products.", example = "10000")
+        int products,
+        @Schema(description = "Number of indexed keys (product codes and distinct name words of every product).", example = "32000")
+        int keys,
+        @Schema(description = "Estimated heap memory used by the index in bytes.", example = "2400000")
+        long memoryBytes
+) {
+}
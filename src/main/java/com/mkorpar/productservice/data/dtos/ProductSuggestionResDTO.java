@@ -0,0 +1,12 @@
+package com.mkorpar.productservice.data.dtos;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Product whose code or name starts with the requested prefix.")
+public record ProductSuggestionResDTO(
+        @Schema(description = "Product code.", example = "PRODUCT001")
+        String code,
+        @Schema(description = "Product name.", example = "Wireless mouse")
+        String name
+) {
+}
@@ -0,0 +1,16 @@
+package com.mkorpar.productservice.data.enums;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.util.Locale;
+
+public enum BatchItemStatus {
+    CREATED,
+    INVALID,
+    DUPLICATE;
+
+    @JsonValue
+    public String getValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
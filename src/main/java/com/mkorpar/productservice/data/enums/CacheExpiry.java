@@ -0,0 +1,7 @@
+package com.mkorpar.productservice.data.enums;
+
+public enum CacheExpiry {
+    NONE,
+    AFTER_ACCESS,
+    AFTER_WRITE
+}
@@ -0,0 +1,62 @@
+package com.mkorpar.productservice.data.enums;
+
+import com.mkorpar.productservice.exceptions.UnsupportedSortException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Sort properties of the product list, every property is backed by an index which ends with {@code id}.
+ * USD prices are proportional to EUR prices, so they are sorted by the stored EUR price.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ProductSortProperty {
+    ID("id"),
+    CODE("code"),
+    NAME("name"),
+    PRICE_EUR("priceEur"),
+    PRICE_USD("priceEur");
+
+    private final String entityProperty;
+
+    public static Optional<ProductSortProperty> fromValue(String value) {
+        return Arrays.stream(values())
+                .filter(property -> property.getValue().equals(value))
+                .findFirst();
+    }
+
+    /**
+     * Maps the requested sort to entity properties and adds {@code id} in the same direction as a tie-breaker,
+     * unsorted lists are sorted by {@code id}.
+     *
+     * @throws UnsupportedSortException when more than one property or an unsupported property is requested
+     */
+    public static Sort toIndexedSort(Sort sort) {
+        if (sort.isUnsorted()) {
+            return Sort.by(ID.entityProperty);
+        }
+
+        List<Sort.Order> orders = sort.toList();
+        Sort.Order order = orders.getFirst();
+        ProductSortProperty property = fromValue(order.getProperty())
+                .filter(sortProperty -> orders.size() == 1)
+                .orElseThrow(() -> new UnsupportedSortException(String.format(
+                        "Products can be sorted by a single property: %s.",
+                        Arrays.stream(values()).map(ProductSortProperty::getValue).collect(Collectors.joining(", "))
+                )));
+
+        Sort indexedSort = Sort.by(order.getDirection(), property.entityProperty);
+        return property == ID ? indexedSort : indexedSort.and(Sort.by(order.getDirection(), ID.entityProperty));
+    }
+
+    public String getValue() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
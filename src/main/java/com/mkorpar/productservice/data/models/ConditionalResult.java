@@ -0,0 +1,13 @@
+package com.mkorpar.productservice.data.models;
+
+import java.util.function.Supplier;
+
+/**
+ * Result of a conditional read. ETag is computed from the looked up data before the response is mapped,
+ * so a request whose ETag matches is answered without mapping and serializing the body.
+ *
+ * @param eTag the strong ETag of the representation
+ * @param body the response body, mapped when supplied
+ */
+public record ConditionalResult<T>(String eTag, Supplier<T> body) {
+}
@@ -0,0 +1,19 @@
+package com.mkorpar.productservice.data.models;
+
+/**
+ * Serialized response body, written to the response without serializing it again.
+ *
+ * @param body     the UTF-8 encoded JSON body
+ * @param gzipBody the gzip compressed JSON body, null when it is not prepared
+ */
+public record EncodedResponse(byte[] body, byte[] gzipBody) {
+
+    public boolean hasGzipBody() {
+        return gzipBody != null;
+    }
+
+    public int size() {
+        return body.length + (hasGzipBody() ? gzipBody.length : 0);
+    }
+
+}
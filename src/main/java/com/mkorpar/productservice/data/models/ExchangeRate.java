@@ -0,0 +1,69 @@
+package com.mkorpar.productservice.data.models;
+
+import com.mkorpar.productservice.clients.enums.ExchangeRateCurrency;
+import jakarta.persistence.*;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Exchange rates have assigned ids, so they are tracked as new until they are stored or loaded. Saving a new rate
+ * inserts it without selecting it first and a rate which is already stored fails with a constraint violation.
+ */
+@Data
+@Entity
+@Table(name = "exchange_rates")
+@IdClass(ExchangeRateId.class)
+@NoArgsConstructor
+public class ExchangeRate implements Persistable<ExchangeRateId> {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(length = 3)
+    private ExchangeRateCurrency currency;
+
+    @Id
+    @Column(name = "rate_date")
+    private LocalDate date;
+
+    @Column(nullable = false, precision = 19, scale = 6)
+    private BigDecimal rate;
+
+    @Transient
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private boolean stored;
+
+    @Builder
+    public ExchangeRate(ExchangeRateCurrency currency, LocalDate date, BigDecimal rate) {
+        this.currency = currency;
+        this.date = date;
+        this.rate = rate;
+    }
+
+    @Override
+    public ExchangeRateId getId() {
+        return new ExchangeRateId(currency, date);
+    }
+
+    @Override
+    public boolean isNew() {
+        return !stored;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        stored = true;
+    }
+
+}
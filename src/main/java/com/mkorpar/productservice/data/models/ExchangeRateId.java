@@ -0,0 +1,20 @@
+package com.mkorpar.productservice.data.models;
+
+import com.mkorpar.productservice.clients.enums.ExchangeRateCurrency;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExchangeRateId implements Serializable {
+
+    private ExchangeRateCurrency currency;
+
+    private LocalDate date;
+
+}
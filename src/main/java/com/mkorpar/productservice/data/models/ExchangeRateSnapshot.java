@@ -0,0 +1,57 @@
+package com.mkorpar.productservice.data.models;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * EUR based exchange rate resolved once and applied to every product mapped within the same request.
+ *
+ * @param date the effective date of the rate, which is older than the requested date when last known rate is used
+ * @param rate the exchange rate, {@code null} when the rate is not available
+ */
+public record ExchangeRateSnapshot(LocalDate date, BigDecimal rate) {
+
+    private static final int SCALE = 2;
+    private static final BigDecimal CENT = new BigDecimal("0.01");
+    private static final BigDecimal HALF_CENT = new BigDecimal("0.005");
+
+    public static ExchangeRateSnapshot of(LocalDate date, Optional<BigDecimal> rate) {
+        return new ExchangeRateSnapshot(date, rate.orElse(null));
+    }
+
+    public static ExchangeRateSnapshot unavailable(LocalDate date) {
+        return new ExchangeRateSnapshot(date, null);
+    }
+
+    public boolean isAvailable() {
+        return rate != null;
+    }
+
+    public BigDecimal convert(BigDecimal amountEur) {
+        if (amountEur == null || rate == null) {
+            return null;
+        }
+        return amountEur.multiply(rate).setScale(SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Returns the smallest EUR amount whose converted amount is at least the given amount.
+     */
+    public BigDecimal getMinimumAmountEur(BigDecimal minimumAmount) {
+        // Converted amounts are rounded half up, so amounts from half a cent lower are rounded to the bound
+        return minimumAmount.subtract(HALF_CENT).divide(rate, SCALE, RoundingMode.CEILING);
+    }
+
+    /**
+     * Returns the largest EUR amount whose converted amount is at most the given amount.
+     */
+    public BigDecimal getMaximumAmountEur(BigDecimal maximumAmount) {
+        // Amounts from half a cent higher are rounded above the bound
+        BigDecimal roundedUpBound = maximumAmount.add(HALF_CENT);
+        BigDecimal amountEur = roundedUpBound.divide(rate, SCALE, RoundingMode.FLOOR);
+        return amountEur.multiply(rate).compareTo(roundedUpBound) < 0 ? amountEur : amountEur.subtract(CENT);
+    }
+
+}
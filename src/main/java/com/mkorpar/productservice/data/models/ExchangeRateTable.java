@@ -0,0 +1,41 @@
+package com.mkorpar.productservice.data.models;
+
+import com.mkorpar.productservice.clients.enums.ExchangeRateCurrency;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable EUR based exchange rate list of a single day, fetched with one exchange rate API call.
+ *
+ * @param date  the effective date of the rates, which is older than the requested date when last known rates are used
+ * @param rates the exchange rates by currency, empty when the rates are not available
+ */
+public record ExchangeRateTable(LocalDate date, Map<ExchangeRateCurrency, BigDecimal> rates) {
+
+    public ExchangeRateTable {
+        rates = Map.copyOf(rates);
+    }
+
+    public static ExchangeRateTable unavailable(LocalDate date) {
+        return new ExchangeRateTable(date, Map.of());
+    }
+
+    public boolean isAvailable() {
+        return !rates.isEmpty();
+    }
+
+    public ExchangeRateSnapshot snapshot(ExchangeRateCurrency currency) {
+        return new ExchangeRateSnapshot(date, rates.get(currency));
+    }
+
+    public Map<ExchangeRateCurrency, BigDecimal> convert(BigDecimal amountEur, Set<ExchangeRateCurrency> currencies) {
+        Map<ExchangeRateCurrency, BigDecimal> amounts = new EnumMap<>(ExchangeRateCurrency.class);
+        currencies.forEach(currency -> amounts.put(currency, snapshot(currency).convert(amountEur)));
+        return amounts;
+    }
+
+}
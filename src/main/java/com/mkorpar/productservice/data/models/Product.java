@@ -10,17 +10,28 @@ import java.math.BigDecimal;
 
 @Data
 @Entity
-@Table(name = "products")
+@Table(name = "products", uniqueConstraints = {
+        @UniqueConstraint(name = Product.CODE_UNIQUE_CONSTRAINT, columnNames = "code")
+}, indexes = {
+        @Index(name = "products_code_id_idx", columnList = "code, id"),
+        @Index(name = "products_change_seq_id_idx", columnList = "change_seq, id")
+})
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Product {
 
+    /**
+     * Name of the product code unique constraint, which is the name PostgreSQL gives to the constraint of V1 migration.
+     */
+    public static final String CODE_UNIQUE_CONSTRAINT = "products_code_key";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
 
-    @Column(unique = true, nullable = false, length = 10)
+    @Column(nullable = false, length = 10)
     private String code;
 
     @Column(nullable = false)
@@ -31,4 +42,12 @@ public class Product {
 
     private boolean available;
 
+    @Version
+    private Long version;
+
+    /**
+     * Value of the change sequence allocated by the transaction which last wrote the product, orders the change feed.
+     */
+    private long changeSeq;
+
 }
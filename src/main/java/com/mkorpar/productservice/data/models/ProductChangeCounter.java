@@ -0,0 +1,27 @@
+package com.mkorpar.productservice.data.models;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Single row holding the last allocated value of the product change sequence.
+ */
+@Data
+@Entity
+@Table(name = "products_change_counter")
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangeCounter {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    private long changeSeq;
+
+}
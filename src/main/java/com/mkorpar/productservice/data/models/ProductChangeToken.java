@@ -0,0 +1,45 @@
+package com.mkorpar.productservice.data.models;
+
+import com.mkorpar.productservice.data.projections.ProductChangeProjection;
+import com.mkorpar.productservice.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in the change feed, products are ordered by change sequence value and id.
+ *
+ * @param changeSeq the change sequence value of the last returned product, {@code 0} before the first change
+ * @param id the id of the last returned product, {@code 0} before the first change
+ */
+public record ProductChangeToken(long changeSeq, long id) {
+
+    private static final String SEPARATOR = ":";
+
+    public static ProductChangeToken first() {
+        return new ProductChangeToken(0, 0);
+    }
+
+    public static ProductChangeToken decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR, 2);
+            if (parts.length != 2) {
+                throw new InvalidCursorException(String.format("Change token %s is not valid.", token));
+            }
+            return new ProductChangeToken(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(String.format("Change token %s is not valid.", token));
+        }
+    }
+
+    public String encode() {
+        String value = changeSeq + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public ProductChangeToken after(ProductChangeProjection product) {
+        return new ProductChangeToken(product.changeSeq(), product.id());
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.mkorpar.productservice.data.models;
+
+import com.mkorpar.productservice.data.projections.ProductProjection;
+import com.mkorpar.productservice.exceptions.InvalidCursorException;
+import com.mkorpar.productservice.exceptions.UnsupportedSortException;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Position in a keyset (seek) paginated product list.
+ *
+ * @param property the property products are sorted by, either {@code code} or {@code id}
+ * @param direction the sort direction
+ * @param id the id of the last product of the previous page, {@code null} for the first page
+ * @param code the code of the last product of the previous page, {@code null} for the first page
+ */
+public record ProductCursor(String property, Sort.Direction direction, Long id, String code) {
+
+    public static final String CODE = "code";
+    public static final String ID = "id";
+
+    private static final String SEPARATOR = ":";
+
+    public static ProductCursor first(Sort sort) {
+        if (sort.isUnsorted()) {
+            return new ProductCursor(CODE, Sort.Direction.ASC, null, null);
+        }
+
+        List<Sort.Order> orders = sort.toList();
+        Sort.Order order = orders.getFirst();
+        if (orders.size() > 1 || !List.of(CODE, ID).contains(order.getProperty())) {
+            throw new UnsupportedSortException(
+                    String.format("Cursor pagination supports sorting by a single property: %s or %s.", CODE, ID)
+            );
+        }
+        return new ProductCursor(order.getProperty(), order.getDirection(), null, null);
+    }
+
+    public static ProductCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR, 4);
+            if (parts.length != 4 || !List.of(CODE, ID).contains(parts[0])) {
+                throw new InvalidCursorException(String.format("Cursor %s is not valid.", cursor));
+            }
+            return new ProductCursor(parts[0], Sort.Direction.valueOf(parts[1]), Long.valueOf(parts[2]), parts[3]);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(String.format("Cursor %s is not valid.", cursor));
+        }
+    }
+
+    public String encode() {
+        String value = String.join(SEPARATOR, property, direction.name(), String.valueOf(id), code);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public ProductCursor after(ProductProjection product) {
+        return new ProductCursor(property, direction, product.id(), product.code());
+    }
+
+    public boolean isFirst() {
+        return id == null;
+    }
+
+    public boolean isSortedByCode() {
+        return CODE.equals(property);
+    }
+
+    public Sort toSort() {
+        Sort idSort = Sort.by(direction, ID);
+        return isSortedByCode() ? Sort.by(direction, CODE).and(idSort) : idSort;
+    }
+
+}
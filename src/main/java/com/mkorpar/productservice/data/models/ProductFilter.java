@@ -0,0 +1,63 @@
+package com.mkorpar.productservice.data.models;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * Filter of the product list, all bounds are inclusive and {@code null} values are not applied.
+ *
+ * @param available   the required availability
+ * @param priceEurMin the lower bound of EUR price
+ * @param priceEurMax the upper bound of EUR price
+ * @param priceUsdMin the lower bound of USD price
+ * @param priceUsdMax the upper bound of USD price
+ */
+public record ProductFilter(Boolean available,
+                            BigDecimal priceEurMin,
+                            BigDecimal priceEurMax,
+                            BigDecimal priceUsdMin,
+                            BigDecimal priceUsdMax) {
+
+    private static final ProductFilter NONE = new ProductFilter(null, null, null, null, null);
+
+    public static ProductFilter none() {
+        return NONE;
+    }
+
+    public boolean isEmpty() {
+        return equals(NONE);
+    }
+
+    public boolean hasUsdBounds() {
+        return priceUsdMin != null || priceUsdMax != null;
+    }
+
+    /**
+     * Converts USD bounds to EUR bounds, so products are filtered by the stored EUR price and USD price is not
+     * computed per row. Converted bounds are narrowed to EUR prices whose rounded USD price is within USD bounds.
+     *
+     * @return the filter with EUR bounds only, empty when USD bounds are set and the rate is not available,
+     * since no product has a USD price then
+     */
+    public Optional<ProductFilter> toEurFilter(ExchangeRateSnapshot eurToUsd) {
+        if (!hasUsdBounds()) {
+            return Optional.of(this);
+        }
+        if (!eurToUsd.isAvailable()) {
+            return Optional.empty();
+        }
+
+        BigDecimal eurMin = priceUsdMin == null ? priceEurMin : max(priceEurMin, eurToUsd.getMinimumAmountEur(priceUsdMin));
+        BigDecimal eurMax = priceUsdMax == null ? priceEurMax : min(priceEurMax, eurToUsd.getMaximumAmountEur(priceUsdMax));
+        return Optional.of(new ProductFilter(available, eurMin, eurMax, null, null));
+    }
+
+    private static BigDecimal max(BigDecimal bound, BigDecimal convertedBound) {
+        return bound == null || convertedBound.compareTo(bound) > 0 ? convertedBound : bound;
+    }
+
+    private static BigDecimal min(BigDecimal bound, BigDecimal convertedBound) {
+        return bound == null || convertedBound.compareTo(bound) < 0 ? convertedBound : bound;
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.mkorpar.productservice.data.models;
+
+import com.mkorpar.productservice.clients.enums.ExchangeRateCurrency;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Identifies a product response, which changes with the product version and the exchange rates.
+ *
+ * @param code             the product code
+ * @param version          the product version
+ * @param exchangeRateDate the date of applied exchange rates, null when the rates are not available
+ * @param currencies       the requested currencies in sorted order
+ */
+public record ProductResponseKey(String code,
+                                 long version,
+                                 LocalDate exchangeRateDate,
+                                 List<ExchangeRateCurrency> currencies) {
+}
@@ -0,0 +1,396 @@
+package com.mkorpar.productservice.data.models;
+
+import com.mkorpar.productservice.data.dtos.ProductSuggestionResDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable prefix index of product codes and name words. Lower-cased keys are kept in sorted arrays of segments
+ * with parallel arrays of product positions, so a lookup is a binary search followed by a scan of matching keys.
+ * Equal keys of a segment share a single string instance. Readers always see a consistent index without locking.
+ * <p>
+ * Index consists of a main segment and a small delta segment, which are searched together. Added and replaced
+ * products are written to the delta, so a write copies only the delta. Products of the main segment which are
+ * replaced by delta products are hidden by tombstones (their codes). When the delta holds the maximum delta size
+ * of products, it is merged into the main segment, so the cost of copying the main segment is shared by a batch
+ * of writes.
+ */
+public final class ProductSuggestionIndex {
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    // Sizes on a 64-bit JVM with compressed oops: product record, String instance, array header and reference
+    private static final int PRODUCT_SIZE = 24;
+    private static final int STRING_SIZE = 24;
+    private static final int ARRAY_HEADER_SIZE = 16;
+    private static final int REFERENCE_SIZE = 4;
+    // Immutable set table slots, the code instance is shared with the delta product
+    private static final int TOMBSTONE_SIZE = 2 * REFERENCE_SIZE;
+
+    private final Segment main;
+    private final Segment delta;
+    private final Set<String> tombstones;
+    private final int maxDeltaSize;
+
+    private ProductSuggestionIndex(Segment main, Segment delta, Set<String> tombstones, int maxDeltaSize) {
+        this.main = main;
+        this.delta = delta;
+        this.tombstones = tombstones;
+        this.maxDeltaSize = maxDeltaSize;
+    }
+
+    public static ProductSuggestionIndex empty(int maxDeltaSize) {
+        return new ProductSuggestionIndex(Segment.EMPTY, Segment.EMPTY, Set.of(), maxDeltaSize);
+    }
+
+    public static ProductSuggestionIndex build(Iterator<ProductSuggestionResDTO> products, int maxDeltaSize) {
+        List<ProductSuggestionResDTO> indexedProducts = new ArrayList<>();
+        products.forEachRemaining(indexedProducts::add);
+        return new ProductSuggestionIndex(
+                Segment.EMPTY.withProducts(indexedProducts), Segment.EMPTY, Set.of(), maxDeltaSize
+        );
+    }
+
+    /**
+     * Returns a new index which contains products of this index and given products,
+     * products whose code is already indexed are skipped.
+     */
+    public ProductSuggestionIndex withProducts(Collection<ProductSuggestionResDTO> newProducts) {
+        List<ProductSuggestionResDTO> addedProducts = newProducts.stream()
+                .filter(product -> !contains(product.code()))
+                .toList();
+        if (addedProducts.isEmpty()) {
+            return this;
+        }
+        return withDelta(delta.withProducts(addedProducts), tombstones);
+    }
+
+    /**
+     * Returns a new index in which products with codes of the given products are replaced by them, products which
+     * are not indexed yet are added. Replaced products of the main segment are hidden by tombstones.
+     */
+    public ProductSuggestionIndex withReplacedProducts(Collection<ProductSuggestionResDTO> replacements) {
+        if (replacements.isEmpty()) {
+            return this;
+        }
+
+        Set<String> replacedTombstones = new HashSet<>(tombstones);
+        for (ProductSuggestionResDTO replacement : replacements) {
+            if (main.contains(replacement.code())) {
+                replacedTombstones.add(replacement.code());
+            }
+        }
+        return withDelta(delta.withReplacedProducts(replacements), Set.copyOf(replacedTombstones));
+    }
+
+    /**
+     * Returns at most {@code limit} products with a code or name word starting with the prefix (case-insensitive),
+     * ordered by the matching key.
+     */
+    public List<ProductSuggestionResDTO> suggest(String prefix, int limit) {
+        String keyPrefix = prefix.toLowerCase(Locale.ROOT);
+        List<ProductSuggestionResDTO> suggestions = new ArrayList<>(Math.min(limit, 16));
+        int mainKey = main.lowerBound(keyPrefix);
+        int deltaKey = delta.lowerBound(keyPrefix);
+        while (suggestions.size() < limit) {
+            boolean mainMatches = main.matches(mainKey, keyPrefix);
+            boolean deltaMatches = delta.matches(deltaKey, keyPrefix);
+            ProductSuggestionResDTO product;
+            if (mainMatches && (!deltaMatches || main.keys[mainKey].compareTo(delta.keys[deltaKey]) <= 0)) {
+                product = main.getProduct(mainKey++);
+                if (tombstones.contains(product.code())) {
+                    continue;
+                }
+            } else if (deltaMatches) {
+                product = delta.getProduct(deltaKey++);
+            } else {
+                break;
+            }
+            // Code and several words of the same product can match, limit is small so the list is searched
+            if (!suggestions.contains(product)) {
+                suggestions.add(product);
+            }
+        }
+        return suggestions;
+    }
+
+    public boolean contains(String code) {
+        return delta.contains(code) || main.contains(code) && !tombstones.contains(code);
+    }
+
+    public int getProductCount() {
+        return main.products.length - tombstones.size() + delta.products.length;
+    }
+
+    public int getKeyCount() {
+        return main.keys.length + delta.keys.length;
+    }
+
+    /**
+     * Estimated heap size of the index, including product codes and names, computed as products are added.
+     */
+    public long getMemoryBytes() {
+        return main.memoryBytes + delta.memoryBytes + (long) tombstones.size() * TOMBSTONE_SIZE;
+    }
+
+    private ProductSuggestionIndex withDelta(Segment changedDelta, Set<String> changedTombstones) {
+        if (changedDelta.products.length < maxDeltaSize) {
+            return new ProductSuggestionIndex(main, changedDelta, changedTombstones, maxDeltaSize);
+        }
+        Segment mergedMain = main.withoutProducts(changedTombstones)
+                .withProducts(Arrays.asList(changedDelta.products));
+        return new ProductSuggestionIndex(mergedMain, Segment.EMPTY, Set.of(), maxDeltaSize);
+    }
+
+    private static List<String> getKeys(ProductSuggestionResDTO product) {
+        List<String> productKeys = new ArrayList<>();
+        productKeys.add(product.code().toLowerCase(Locale.ROOT));
+        for (String word : WORD_SEPARATOR.split(product.name().toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty() && !productKeys.contains(word)) {
+                productKeys.add(word);
+            }
+        }
+        return productKeys;
+    }
+
+    private static long stringSize(String value) {
+        // Latin-1 strings use one byte per character, others two
+        int characterSize = 1;
+        for (int i = 0; i < value.length() && characterSize == 1; i++) {
+            if (value.charAt(i) > 0xFF) {
+                characterSize = 2;
+            }
+        }
+        return STRING_SIZE + arraySize(value.length(), characterSize);
+    }
+
+    private static long arraySize(int length, int elementSize) {
+        return align(ARRAY_HEADER_SIZE + (long) length * elementSize);
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+
+    /**
+     * Sorted keys of products. Products are added by merging sorted keys into a new segment.
+     */
+    private static final class Segment {
+
+        private static final Segment EMPTY = new Segment(
+                new ProductSuggestionResDTO[0], new String[0], new int[0], 3 * arraySize(0, REFERENCE_SIZE)
+        );
+
+        private final ProductSuggestionResDTO[] products;
+        private final String[] keys;
+        private final int[] keyProducts;
+        private final long memoryBytes;
+
+        private Segment(ProductSuggestionResDTO[] products, String[] keys, int[] keyProducts, long memoryBytes) {
+            this.products = products;
+            this.keys = keys;
+            this.keyProducts = keyProducts;
+            this.memoryBytes = memoryBytes;
+        }
+
+        /**
+         * Returns a new segment which contains products of this segment and given products,
+         * products whose code is already in the segment are skipped.
+         */
+        private Segment withProducts(Collection<ProductSuggestionResDTO> newProducts) {
+            List<ProductSuggestionResDTO> addedProducts = new ArrayList<>(newProducts.size());
+            Set<String> addedCodes = new HashSet<>();
+            List<KeyEntry> addedKeys = new ArrayList<>();
+            Map<String, String> sharedKeys = new HashMap<>();
+            long addedBytes = 0;
+            for (ProductSuggestionResDTO product : newProducts) {
+                if (contains(product.code()) || !addedCodes.add(product.code())) {
+                    continue;
+                }
+                int position = products.length + addedProducts.size();
+                addedProducts.add(product);
+                addedBytes += PRODUCT_SIZE + stringSize(product.code()) + stringSize(product.name());
+                for (String key : getKeys(product)) {
+                    String sharedKey = sharedKeys.get(key);
+                    if (sharedKey == null) {
+                        sharedKey = getSharedKey(key);
+                        sharedKeys.put(key, sharedKey);
+                        // Keys equal to the code instance (lower-case codes) are counted with the product
+                        if (sharedKey == key && key != product.code()) {
+                            addedBytes += stringSize(key);
+                        }
+                    }
+                    addedKeys.add(new KeyEntry(sharedKey, position));
+                }
+            }
+            if (addedProducts.isEmpty()) {
+                return this;
+            }
+            addedKeys.sort(null);
+
+            ProductSuggestionResDTO[] mergedProducts = Arrays.copyOf(products, products.length + addedProducts.size());
+            for (int i = 0; i < addedProducts.size(); i++) {
+                mergedProducts[products.length + i] = addedProducts.get(i);
+            }
+            return mergeKeys(mergedProducts, addedKeys, addedBytes);
+        }
+
+        /**
+         * Returns a new segment in which products with codes of the given products are replaced by them, products
+         * which are not in the segment yet are added. Keys of replaced products are spread across the whole array,
+         * so the segment is built again, which is meant for the small delta segment.
+         */
+        private Segment withReplacedProducts(Collection<ProductSuggestionResDTO> replacements) {
+            Map<String, ProductSuggestionResDTO> replacementsByCode = new HashMap<>();
+            replacements.forEach(product -> replacementsByCode.put(product.code(), product));
+            List<ProductSuggestionResDTO> replacedProducts = new ArrayList<>(products.length + replacements.size());
+            for (ProductSuggestionResDTO product : products) {
+                replacedProducts.add(replacementsByCode.getOrDefault(product.code(), product));
+            }
+            // Products which are already in the segment are skipped, so only missing replacements are added
+            replacedProducts.addAll(replacementsByCode.values());
+            return EMPTY.withProducts(replacedProducts);
+        }
+
+        /**
+         * Returns a new segment without products with the given codes, their keys are removed in a single pass.
+         */
+        private Segment withoutProducts(Set<String> codes) {
+            if (codes.isEmpty()) {
+                return this;
+            }
+
+            int[] positions = new int[products.length];
+            List<ProductSuggestionResDTO> keptProducts = new ArrayList<>(products.length);
+            for (int product = 0; product < products.length; product++) {
+                boolean removed = codes.contains(products[product].code());
+                positions[product] = removed ? -1 : keptProducts.size();
+                if (!removed) {
+                    keptProducts.add(products[product]);
+                }
+            }
+            String[] keptKeys = new String[keys.length];
+            int[] keptKeyProducts = new int[keys.length];
+            int size = 0;
+            for (int key = 0; key < keys.length; key++) {
+                int position = positions[keyProducts[key]];
+                if (position >= 0) {
+                    keptKeys[size] = keys[key];
+                    keptKeyProducts[size++] = position;
+                }
+            }
+
+            ProductSuggestionResDTO[] segmentProducts = keptProducts.toArray(ProductSuggestionResDTO[]::new);
+            String[] segmentKeys = Arrays.copyOf(keptKeys, size);
+            int[] segmentKeyProducts = Arrays.copyOf(keptKeyProducts, size);
+            return new Segment(
+                    segmentProducts,
+                    segmentKeys,
+                    segmentKeyProducts,
+                    estimateMemory(segmentProducts, segmentKeys, segmentKeyProducts)
+            );
+        }
+
+        private boolean contains(String code) {
+            String key = code.toLowerCase(Locale.ROOT);
+            for (int position = lowerBound(key); position < keys.length && keys[position].equals(key); position++) {
+                if (products[keyProducts[position]].code().equals(code)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean matches(int key, String keyPrefix) {
+            return key < keys.length && keys[key].startsWith(keyPrefix);
+        }
+
+        private ProductSuggestionResDTO getProduct(int key) {
+            return products[keyProducts[key]];
+        }
+
+        private Segment mergeKeys(ProductSuggestionResDTO[] mergedProducts, List<KeyEntry> addedKeys, long addedBytes) {
+            int size = keys.length + addedKeys.size();
+            String[] mergedKeys = new String[size];
+            int[] mergedKeyProducts = new int[size];
+            int existing = 0;
+            int added = 0;
+            for (int position = 0; position < size; position++) {
+                boolean takeExisting = added == addedKeys.size()
+                        || existing < keys.length && keys[existing].compareTo(addedKeys.get(added).key()) <= 0;
+                if (takeExisting) {
+                    mergedKeys[position] = keys[existing];
+                    mergedKeyProducts[position] = keyProducts[existing++];
+                } else {
+                    KeyEntry entry = addedKeys.get(added++);
+                    mergedKeys[position] = entry.key();
+                    mergedKeyProducts[position] = entry.product();
+                }
+            }
+            long arrayBytes = arraySize(mergedProducts.length, REFERENCE_SIZE)
+                    - arraySize(products.length, REFERENCE_SIZE)
+                    + arraySize(size, REFERENCE_SIZE) - arraySize(keys.length, REFERENCE_SIZE)
+                    + arraySize(size, Integer.BYTES) - arraySize(keyProducts.length, Integer.BYTES);
+            return new Segment(mergedProducts, mergedKeys, mergedKeyProducts, memoryBytes + arrayBytes + addedBytes);
+        }
+
+        private String getSharedKey(String key) {
+            int position = lowerBound(key);
+            return position < keys.length && keys[position].equals(key) ? keys[position] : key;
+        }
+
+        private int lowerBound(String key) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (keys[middle].compareTo(key) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Counts the memory the same way as products are added, equal keys are adjacent and share an instance.
+         */
+        private static long estimateMemory(ProductSuggestionResDTO[] products, String[] keys, int[] keyProducts) {
+            long bytes = arraySize(products.length, REFERENCE_SIZE)
+                    + arraySize(keys.length, REFERENCE_SIZE)
+                    + arraySize(keyProducts.length, Integer.BYTES);
+            for (ProductSuggestionResDTO product : products) {
+                bytes += PRODUCT_SIZE + stringSize(product.code()) + stringSize(product.name());
+            }
+            for (int key = 0; key < keys.length; key++) {
+                boolean sharedWithPreviousKey = key > 0 && keys[key] == keys[key - 1];
+                if (!sharedWithPreviousKey && keys[key] != products[keyProducts[key]].code()) {
+                    bytes += stringSize(keys[key]);
+                }
+            }
+            return bytes;
+        }
+
+    }
+
+    private record KeyEntry(String key, int product) implements Comparable<KeyEntry> {
+
+        @Override
+        public int compareTo(KeyEntry other) {
+            int comparison = key.compareTo(other.key);
+            return comparison != 0 ? comparison : Integer.compare(product, other.product);
+        }
+
+    }
+
+}
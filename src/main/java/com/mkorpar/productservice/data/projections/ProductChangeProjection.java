@@ -0,0 +1,20 @@
+package com.mkorpar.productservice.data.projections;
+
+import java.math.BigDecimal;
+
+/**
+ * Product of the change feed, change sequence value and id are read to build the resume token.
+ */
+public record ProductChangeProjection(Long id,
+                                      String code,
+                                      String name,
+                                      BigDecimal priceEur,
+                                      boolean available,
+                                      long version,
+                                      long changeSeq) {
+
+    public ProductProjection toProductProjection() {
+        return new ProductProjection(id, code, name, priceEur, available, version);
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.mkorpar.productservice.data.projections;
+
+import java.math.BigDecimal;
+
+/**
+ * Read-only, currency independent view of a product. USD price is not part of it, since it depends on the
+ * exchange rate of the day the product is mapped. Id is read to build cursors of cursor pagination,
+ * id and version are read to build ETags.
+ */
+public record ProductProjection(Long id, String code, String name, BigDecimal priceEur, boolean available, long version) {
+}
@@ -0,0 +1,9 @@
+package com.mkorpar.productservice.exceptions;
+
+public class BatchSizeExceededException extends RuntimeException {
+
+    public BatchSizeExceededException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.mkorpar.productservice.exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+}
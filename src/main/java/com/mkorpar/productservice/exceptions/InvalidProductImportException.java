@@ -0,0 +1,9 @@
+package com.mkorpar.productservice.exceptions;
+
+public class InvalidProductImportException extends RuntimeException {
+
+    public InvalidProductImportException(String message) {
+        super(message);
+    }
+
+}
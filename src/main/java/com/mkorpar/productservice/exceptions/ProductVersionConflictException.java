@@ -0,0 +1,9 @@
+package com.mkorpar.productservice.exceptions;
+
+public class ProductVersionConflictException extends RuntimeException {
+
+    public ProductVersionConflictException(String message) {
+        super(message);
+    }
+
+}
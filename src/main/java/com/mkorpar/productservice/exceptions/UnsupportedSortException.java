@@ -0,0 +1,9 @@
+package com.mkorpar.productservice.exceptions;
+
+public class UnsupportedSortException extends RuntimeException {
+
+    public UnsupportedSortException(String message) {
+        super(message);
+    }
+
+}
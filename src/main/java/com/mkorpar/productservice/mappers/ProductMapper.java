@@ -0,0 +1,95 @@
+package com.mkorpar.productservice.mappers;
+
+import com.mkorpar.productservice.clients.enums.ExchangeRateCurrency;
+import com.mkorpar.productservice.data.dtos.ProductReqDTO;
+import com.mkorpar.productservice.data.dtos.ProductResDTO;
+import com.mkorpar.productservice.data.models.ExchangeRateSnapshot;
+import com.mkorpar.productservice.data.models.ExchangeRateTable;
+import com.mkorpar.productservice.data.models.Product;
+import com.mkorpar.productservice.data.projections.ProductProjection;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Hand-written product mappings used on the request path instead of reflective {@link CoreModelMapper} mappings.
+ */
+@Component
+public class ProductMapper {
+
+    public Product map(ProductReqDTO productReqDTO) {
+        return Product.builder()
+                .code(productReqDTO.getCode())
+                .name(productReqDTO.getName())
+                .priceEur(productReqDTO.getPriceEur())
+                .available(productReqDTO.isAvailable())
+                .build();
+    }
+
+    public ProductResDTO map(Product product, ExchangeRateSnapshot exchangeRate) {
+        return new ProductResDTO(
+                product.getCode(),
+                product.getName(),
+                product.getPriceEur(),
+                exchangeRate.convert(product.getPriceEur()),
+                product.isAvailable(),
+                getExchangeRateDate(exchangeRate),
+                product.getVersion() == null ? 0 : product.getVersion(),
+                null
+        );
+    }
+
+    public ProductResDTO map(ProductProjection product, ExchangeRateSnapshot exchangeRate) {
+        return new ProductResDTO(
+                product.code(),
+                product.name(),
+                product.priceEur(),
+                exchangeRate.convert(product.priceEur()),
+                product.available(),
+                getExchangeRateDate(exchangeRate),
+                product.version(),
+                null
+        );
+    }
+
+    public List<ProductResDTO> mapList(List<Product> products, ExchangeRateSnapshot exchangeRate) {
+        return products.stream()
+                .map(product -> map(product, exchangeRate))
+                .toList();
+    }
+
+    public ProductResDTO map(Product product, ExchangeRateTable exchangeRates, Set<ExchangeRateCurrency> currencies) {
+        return withPrices(map(product, exchangeRates.snapshot(ExchangeRateCurrency.USD)), exchangeRates, currencies);
+    }
+
+    public ProductResDTO map(ProductProjection product,
+                             ExchangeRateTable exchangeRates,
+                             Set<ExchangeRateCurrency> currencies) {
+        return withPrices(map(product, exchangeRates.snapshot(ExchangeRateCurrency.USD)), exchangeRates, currencies);
+    }
+
+    public List<ProductResDTO> mapList(List<ProductProjection> products,
+                                       ExchangeRateTable exchangeRates,
+                                       Set<ExchangeRateCurrency> currencies) {
+        ExchangeRateSnapshot exchangeRate = exchangeRates.snapshot(ExchangeRateCurrency.USD);
+        return products.stream()
+                .map(product -> withPrices(map(product, exchangeRate), exchangeRates, currencies))
+                .toList();
+    }
+
+    private ProductResDTO withPrices(ProductResDTO productResDTO,
+                                     ExchangeRateTable exchangeRates,
+                                     Set<ExchangeRateCurrency> currencies) {
+        if (!currencies.isEmpty()) {
+            productResDTO.setPrices(exchangeRates.convert(productResDTO.getPriceEur(), currencies));
+        }
+        return productResDTO;
+    }
+
+    private LocalDate getExchangeRateDate(ExchangeRateSnapshot exchangeRate) {
+        return exchangeRate.isAvailable() ? exchangeRate.date() : null;
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.mkorpar.productservice.mappers;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.mkorpar.productservice.data.rest.ValidationErrorData;
+import com.mkorpar.productservice.utils.PropertyNamingStrategyUtils;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Path;
+import org.springframework.boot.autoconfigure.jackson.JacksonProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.FieldError;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Maps validation errors of requests and manually validated objects to {@link ValidationErrorData}.
+ * Field is the name of the last property path node (e.g. {@code code} of a validated method parameter),
+ * translated with the Jackson property naming strategy, and errors are sorted by their fields.
+ */
+@Component
+public class ValidationErrorMapper {
+
+    private final PropertyNamingStrategies.NamingBase namingStrategy;
+
+    public ValidationErrorMapper(JacksonProperties jacksonProperties) {
+        this.namingStrategy = PropertyNamingStrategyUtils.getStrategy(jacksonProperties.getPropertyNamingStrategy());
+    }
+
+    public List<ValidationErrorData> mapList(Collection<? extends ConstraintViolation<?>> violations) {
+        return violations.stream()
+                .map(violation -> new ValidationErrorData(
+                        namingStrategy.translate(getFieldName(violation.getPropertyPath())),
+                        Objects.requireNonNullElse(violation.getMessage(), "")
+                ))
+                .sorted(Comparator.comparing(ValidationErrorData::field))
+                .toList();
+    }
+
+    public List<ValidationErrorData> mapFieldErrors(Collection<FieldError> fieldErrors) {
+        return fieldErrors.stream()
+                .map(error -> new ValidationErrorData(
+                        namingStrategy.translate(error.getField()),
+                        Objects.requireNonNullElse(error.getDefaultMessage(), "")
+                ))
+                .sorted(Comparator.comparing(ValidationErrorData::field))
+                .toList();
+    }
+
+    private String getFieldName(Path propertyPath) {
+        String fieldName = "";
+        for (Path.Node node : propertyPath) {
+            fieldName = node.getName();
+        }
+        return fieldName;
+    }
+
+}
@@ -1,6 +1,7 @@
 package com.mkorpar.productservice.mappers.mappings;
 
 import com.mkorpar.productservice.data.dtos.ProductResDTO;
+import com.mkorpar.productservice.data.models.ExchangeRateSnapshot;
 import com.mkorpar.productservice.data.models.Product;
 import com.mkorpar.productservice.services.ExchangeRateService;
 import lombok.RequiredArgsConstructor;
@@ -9,7 +10,6 @@ import org.modelmapper.PropertyMap;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 
 @Component
@@ -30,9 +30,9 @@ public class ProductPricePropertyMap extends PropertyMap<Product, ProductResDTO>
                 return null;
             }
 
-            return exchangeRateService.getEurToUsdExchangeRate(LocalDate.now())
-                    .map(exchangeRate -> priceEur.multiply(exchangeRate).setScale(2, RoundingMode.HALF_UP))
-                    .orElse(null);
+            LocalDate currentDate = LocalDate.now();
+            return ExchangeRateSnapshot.of(currentDate, exchangeRateService.getEurToUsdExchangeRate(currentDate))
+                    .convert(priceEur);
         };
     }
 
@@ -0,0 +1,17 @@
+package com.mkorpar.productservice.repositories;
+
+import com.mkorpar.productservice.data.models.ExchangeRate;
+import com.mkorpar.productservice.data.models.ExchangeRateId;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public interface ExchangeRateRepository extends JpaRepository<ExchangeRate, ExchangeRateId> {
+
+    List<ExchangeRate> findAllByDate(LocalDate date);
+
+    Optional<ExchangeRate> findFirstByDateBetweenOrderByDateDesc(LocalDate from, LocalDate to);
+
+}
@@ -0,0 +1,16 @@
+package com.mkorpar.productservice.repositories;
+
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Allocates values of the product change sequence, which order the product change feed.
+ * A value has to be allocated by the transaction which writes the products, see
+ * {@link ProductChangeSequenceRepositoryImpl}.
+ */
+public interface ProductChangeSequenceRepository {
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    long nextChangeSeq();
+
+}
@@ -0,0 +1,38 @@
+package com.mkorpar.productservice.repositories;
+
+import com.mkorpar.productservice.data.models.ProductChangeCounter;
+import com.mkorpar.productservice.utils.DatabaseUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Values are allocated by incrementing the counter row, which stays locked until the writing transaction ends,
+ * so concurrent writers get their values in the order of their commits. A consumer which sees a committed value
+ * therefore sees all lower values as well, and resuming the feed after it cannot skip a change committed later.
+ * <p>
+ * Writes of products are serialized from the allocation to the commit, so the value is allocated right before
+ * the write with a single statement and writing transactions are kept short, imports commit every chunk.
+ */
+public class ProductChangeSequenceRepositoryImpl implements ProductChangeSequenceRepository {
+
+    private static final String POSTGRESQL_NEXT_CHANGE_SEQ =
+            "update products_change_counter set change_seq = change_seq + 1 where id = ? returning change_seq";
+    private static final String H2_NEXT_CHANGE_SEQ = "select change_seq from final table "
+            + "(update products_change_counter set change_seq = change_seq + 1 where id = ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nextChangeSeqQuery;
+
+    public ProductChangeSequenceRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nextChangeSeqQuery = DatabaseUtils.isPostgreSql(jdbcTemplate) ? POSTGRESQL_NEXT_CHANGE_SEQ : H2_NEXT_CHANGE_SEQ;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long nextChangeSeq() {
+        return jdbcTemplate.queryForObject(nextChangeSeqQuery, Long.class, ProductChangeCounter.ID);
+    }
+
+}
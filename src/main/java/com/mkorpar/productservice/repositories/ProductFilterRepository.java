@@ -0,0 +1,24 @@
+package com.mkorpar.productservice.repositories;
+
+import com.mkorpar.productservice.data.models.ProductCursor;
+import com.mkorpar.productservice.data.models.ProductFilter;
+import com.mkorpar.productservice.data.projections.ProductProjection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Product list queries built from the given filter, only EUR price bounds of the filter are applied.
+ */
+public interface ProductFilterRepository {
+
+    Page<ProductProjection> findPage(ProductFilter filter, Pageable pageable);
+
+    Slice<ProductProjection> findSlice(ProductFilter filter, Pageable pageable);
+
+    /**
+     * Finds products after the cursor, pageable has to be sorted by {@link ProductCursor#toSort()}.
+     */
+    Slice<ProductProjection> findSliceAfter(ProductFilter filter, ProductCursor cursor, Pageable pageable);
+
+}
@@ -0,0 +1,134 @@
+package com.mkorpar.productservice.repositories;
+
+import com.mkorpar.productservice.data.models.Product;
+import com.mkorpar.productservice.data.models.ProductCursor;
+import com.mkorpar.productservice.data.models.ProductFilter;
+import com.mkorpar.productservice.data.projections.ProductProjection;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Predicates are added only for the given filter values, so every filter combination is a plain range query
+ * on stored columns, which is served by indexes on {@code available} and {@code price_eur}.
+ */
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ProductFilterRepositoryImpl implements ProductFilterRepository {
+
+    private static final String ID = "id";
+    private static final String CODE = "code";
+    private static final String NAME = "name";
+    private static final String PRICE_EUR = "priceEur";
+    private static final String AVAILABLE = "available";
+    private static final String VERSION = "version";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Page<ProductProjection> findPage(ProductFilter filter, Pageable pageable) {
+        List<ProductProjection> products = findProducts(filter, null, pageable, 0);
+        return PageableExecutionUtils.getPage(products, pageable, () -> count(filter));
+    }
+
+    @Override
+    public Slice<ProductProjection> findSlice(ProductFilter filter, Pageable pageable) {
+        return toSlice(findProducts(filter, null, pageable, 1), pageable);
+    }
+
+    @Override
+    public Slice<ProductProjection> findSliceAfter(ProductFilter filter, ProductCursor cursor, Pageable pageable) {
+        return toSlice(findProducts(filter, cursor, pageable, 1), pageable);
+    }
+
+    private List<ProductProjection> findProducts(ProductFilter filter,
+                                                 ProductCursor cursor,
+                                                 Pageable pageable,
+                                                 int extraResults) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductProjection> query = builder.createQuery(ProductProjection.class);
+        Root<Product> product = query.from(Product.class);
+        query.select(builder.construct(
+                ProductProjection.class,
+                product.get(ID), product.get(CODE), product.get(NAME),
+                product.get(PRICE_EUR), product.get(AVAILABLE), product.get(VERSION)
+        ));
+
+        List<Predicate> predicates = getPredicates(builder, product, filter);
+        if (cursor != null && !cursor.isFirst()) {
+            predicates.add(getCursorPredicate(builder, product, cursor));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), product, builder));
+
+        TypedQuery<ProductProjection> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult(Math.toIntExact(pageable.getOffset()));
+            // Extra result tells whether the next slice exists
+            typedQuery.setMaxResults(pageable.getPageSize() + extraResults);
+        }
+        return typedQuery.getResultList();
+    }
+
+    private long count(ProductFilter filter) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = builder.createQuery(Long.class);
+        Root<Product> product = query.from(Product.class);
+        query.select(builder.count(product));
+        query.where(getPredicates(builder, product, filter).toArray(Predicate[]::new));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private List<Predicate> getPredicates(CriteriaBuilder builder, Root<Product> product, ProductFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.available() != null) {
+            predicates.add(builder.equal(product.get(AVAILABLE), filter.available()));
+        }
+        Path<BigDecimal> priceEur = product.get(PRICE_EUR);
+        if (filter.priceEurMin() != null) {
+            predicates.add(builder.greaterThanOrEqualTo(priceEur, filter.priceEurMin()));
+        }
+        if (filter.priceEurMax() != null) {
+            predicates.add(builder.lessThanOrEqualTo(priceEur, filter.priceEurMax()));
+        }
+        return predicates;
+    }
+
+    private Predicate getCursorPredicate(CriteriaBuilder builder, Root<Product> product, ProductCursor cursor) {
+        boolean ascending = cursor.direction().isAscending();
+        Path<Long> id = product.get(ID);
+        Predicate afterId = ascending ? builder.greaterThan(id, cursor.id()) : builder.lessThan(id, cursor.id());
+        if (!cursor.isSortedByCode()) {
+            return afterId;
+        }
+
+        Path<String> code = product.get(CODE);
+        return builder.or(
+                ascending ? builder.greaterThan(code, cursor.code()) : builder.lessThan(code, cursor.code()),
+                builder.and(builder.equal(code, cursor.code()), afterId)
+        );
+    }
+
+    private Slice<ProductProjection> toSlice(List<ProductProjection> products, Pageable pageable) {
+        boolean hasNext = pageable.isPaged() && products.size() > pageable.getPageSize();
+        List<ProductProjection> content = hasNext ? products.subList(0, pageable.getPageSize()) : products;
+        return new SliceImpl<>(content, pageable, hasNext);
+    }
+
+}
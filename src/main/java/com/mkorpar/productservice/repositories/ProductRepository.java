@@ -1,12 +1,89 @@
 package com.mkorpar.productservice.repositories;
 
 import com.mkorpar.productservice.data.models.Product;
+import com.mkorpar.productservice.data.projections.ProductChangeProjection;
+import com.mkorpar.productservice.data.projections.ProductProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
-public interface ProductRepository extends JpaRepository<Product, Integer> {
+/**
+ * Product reads return {@link ProductProjection} records, which are not managed by the persistence context,
+ * so no entity instances or dirty-checking snapshots are created for them. Query methods run in read-only
+ * transactions (Hibernate flush is turned off), write methods keep transactions of {@link JpaRepository}.
+ */
+@Transactional(readOnly = true)
+public interface ProductRepository extends JpaRepository<Product, Integer>,
+        ProductFilterRepository, ProductChangeSequenceRepository {
+
+    String EXPORT_FETCH_SIZE = "1000";
+    String PROJECTION = "new com.mkorpar.productservice.data.projections.ProductProjection("
+            + "p.id, p.code, p.name, p.priceEur, p.available, p.version)";
+    String CHANGE_PROJECTION = "new com.mkorpar.productservice.data.projections.ProductChangeProjection("
+            + "p.id, p.code, p.name, p.priceEur, p.available, p.version, p.changeSeq)";
 
     Optional<Product> findProductByCode(String code);
 
+    Optional<ProductProjection> findProjectionByCode(String code);
+
+    Optional<ProductProjection> findProjectionByCodeAndVersion(String code, long version);
+
+    /**
+     * Updates sent fields of the product with a single statement, {@code null} values keep the stored ones.
+     * Only the expected version is matched, so no product is updated when it was changed concurrently.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update Product p set p.name = coalesce(:name, p.name), p.priceEur = coalesce(:priceEur, p.priceEur), "
+            + "p.available = coalesce(:available, p.available), p.version = p.version + 1, p.changeSeq = :changeSeq "
+            + "where p.code = :code and p.version = :version")
+    int updateProduct(String code,
+                      long version,
+                      String name,
+                      BigDecimal priceEur,
+                      Boolean available,
+                      long changeSeq);
+
+    @Query("select p.code from Product p where p.code in :codes")
+    Set<String> findExistingCodes(Collection<String> codes);
+
+    Page<ProductProjection> findPageBy(Pageable pageable);
+
+    Slice<ProductProjection> findAllBy(Pageable pageable);
+
+    @Query("select " + PROJECTION + " from Product p where (p.code, p.id) > (:code, :id)")
+    Slice<ProductProjection> findAllAfterCode(String code, Long id, Pageable pageable);
+
+    @Query("select " + PROJECTION + " from Product p where (p.code, p.id) < (:code, :id)")
+    Slice<ProductProjection> findAllBeforeCode(String code, Long id, Pageable pageable);
+
+    Slice<ProductProjection> findAllByIdGreaterThan(Long id, Pageable pageable);
+
+    Slice<ProductProjection> findAllByIdLessThan(Long id, Pageable pageable);
+
+    @Query("select " + CHANGE_PROJECTION + " from Product p "
+            + "where (p.changeSeq, p.id) > (:changeSeq, :id) order by p.changeSeq, p.id")
+    Slice<ProductChangeProjection> findChangesAfter(long changeSeq, long id, Pageable pageable);
+
+    /**
+     * Forward-only stream of all products, must be consumed and closed within a transaction.
+     * Projections are not managed by the persistence context, so it does not grow while the stream is read.
+     */
+    @Query("select " + PROJECTION + " from Product p order by p.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    Stream<ProductProjection> streamAllProjectionsBy();
+
 }
@@ -1,11 +1,23 @@
 package com.mkorpar.productservice.services;
 
+import com.mkorpar.productservice.clients.enums.ExchangeRateCurrency;
+import com.mkorpar.productservice.data.models.ExchangeRateSnapshot;
+import com.mkorpar.productservice.data.models.ExchangeRateTable;
+
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Optional;
 
 public interface ExchangeRateService {
 
-    Optional<BigDecimal> getEurToUsdExchangeRate(LocalDate currentDate);
+    ExchangeRateTable getExchangeRateTable(LocalDate currentDate);
+
+    default ExchangeRateSnapshot getEurToUsdExchangeRateSnapshot(LocalDate currentDate) {
+        return getExchangeRateTable(currentDate).snapshot(ExchangeRateCurrency.USD);
+    }
+
+    default Optional<BigDecimal> getEurToUsdExchangeRate(LocalDate currentDate) {
+        return Optional.ofNullable(getEurToUsdExchangeRateSnapshot(currentDate).rate());
+    }
 
 }
@@ -0,0 +1,13 @@
+package com.mkorpar.productservice.services;
+
+import com.mkorpar.productservice.data.projections.ProductProjection;
+
+import java.util.Optional;
+
+public interface ProductCacheService {
+
+    Optional<ProductProjection> getProduct(String code);
+
+    void evictProduct(String code);
+
+}
@@ -0,0 +1,9 @@
+package com.mkorpar.productservice.services;
+
+public interface ProductCountService {
+
+    long getEstimatedCount();
+
+    void refreshEstimatedCount();
+
+}
@@ -0,0 +1,13 @@
+package com.mkorpar.productservice.services;
+
+import com.mkorpar.productservice.clients.enums.ExchangeRateCurrency;
+import com.mkorpar.productservice.data.enums.CatalogFormat;
+
+import java.io.OutputStream;
+import java.util.Set;
+
+public interface ProductExportService {
+
+    void exportProducts(CatalogFormat format, Set<ExchangeRateCurrency> currencies, OutputStream outputStream);
+
+}
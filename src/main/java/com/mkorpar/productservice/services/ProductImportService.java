@@ -0,0 +1,13 @@
+package com.mkorpar.productservice.services;
+
+import com.mkorpar.productservice.data.dtos.ProductImportResDTO;
+import com.mkorpar.productservice.data.enums.CatalogFormat;
+
+import java.io.InputStream;
+import java.nio.charset.Charset;
+
+public interface ProductImportService {
+
+    ProductImportResDTO importProducts(CatalogFormat format, Charset charset, InputStream inputStream);
+
+}
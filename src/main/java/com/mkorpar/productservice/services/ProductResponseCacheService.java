@@ -0,0 +1,13 @@
+package com.mkorpar.productservice.services;
+
+import com.mkorpar.productservice.data.dtos.ProductResDTO;
+import com.mkorpar.productservice.data.models.EncodedResponse;
+import com.mkorpar.productservice.data.models.ProductResponseKey;
+
+import java.util.function.Supplier;
+
+public interface ProductResponseCacheService {
+
+    EncodedResponse getResponse(ProductResponseKey key, Supplier<ProductResDTO> product);
+
+}
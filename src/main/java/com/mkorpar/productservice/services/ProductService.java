@@ -1,16 +1,61 @@
 package com.mkorpar.productservice.services;
 
+import com.mkorpar.productservice.clients.enums.ExchangeRateCurrency;
 import com.mkorpar.productservice.data.dtos.PageResDTO;
+import com.mkorpar.productservice.data.dtos.ProductBatchResDTO;
+import com.mkorpar.productservice.data.dtos.ProductChangesResDTO;
+import com.mkorpar.productservice.data.dtos.ProductPatchReqDTO;
 import com.mkorpar.productservice.data.dtos.ProductReqDTO;
 import com.mkorpar.productservice.data.dtos.ProductResDTO;
+import com.mkorpar.productservice.data.enums.CountMode;
+import com.mkorpar.productservice.data.models.ConditionalResult;
+import com.mkorpar.productservice.data.models.EncodedResponse;
+import com.mkorpar.productservice.data.models.ProductFilter;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+import java.util.Set;
+
 public interface ProductService {
 
     ProductResDTO createProduct(ProductReqDTO productReqDTO);
 
+    ProductBatchResDTO createProducts(List<ProductReqDTO> productReqDTOs);
+
+    /**
+     * Updates sent fields of the product if its version matches the version of the request.
+     */
+    ProductResDTO updateProduct(String code, ProductPatchReqDTO productPatchReqDTO);
+
     ProductResDTO getProduct(String code);
 
+    ProductResDTO getProduct(String code, Set<ExchangeRateCurrency> currencies);
+
+    ConditionalResult<ProductResDTO> getConditionalProduct(String code, Set<ExchangeRateCurrency> currencies);
+
+    ConditionalResult<EncodedResponse> getConditionalEncodedProduct(String code, Set<ExchangeRateCurrency> currencies);
+
     PageResDTO<ProductResDTO> getAllProducts(Pageable pageable);
 
+    PageResDTO<ProductResDTO> getAllProducts(Pageable pageable,
+                                             CountMode countMode,
+                                             Set<ExchangeRateCurrency> currencies);
+
+    ConditionalResult<PageResDTO<ProductResDTO>> getConditionalProducts(Pageable pageable,
+                                                                        CountMode countMode,
+                                                                        ProductFilter filter,
+                                                                        Set<ExchangeRateCurrency> currencies);
+
+    PageResDTO<ProductResDTO> getAllProducts(String cursor, Pageable pageable, Set<ExchangeRateCurrency> currencies);
+
+    ConditionalResult<PageResDTO<ProductResDTO>> getConditionalProducts(String cursor,
+                                                                        Pageable pageable,
+                                                                        ProductFilter filter,
+                                                                        Set<ExchangeRateCurrency> currencies);
+
+    /**
+     * Returns at most {@code limit} products changed after the given token, an empty token starts at the first change.
+     */
+    ProductChangesResDTO getProductChanges(String since, int limit);
+
 }
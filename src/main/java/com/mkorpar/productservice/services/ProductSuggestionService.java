@@ -0,0 +1,21 @@
+package com.mkorpar.productservice.services;
+
+import com.mkorpar.productservice.data.dtos.ProductSuggestionIndexResDTO;
+import com.mkorpar.productservice.data.dtos.ProductSuggestionResDTO;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductSuggestionService {
+
+    List<ProductSuggestionResDTO> suggestProducts(String prefix, int limit);
+
+    void addProducts(Collection<ProductSuggestionResDTO> products);
+
+    void replaceProducts(Collection<ProductSuggestionResDTO> products);
+
+    ProductSuggestionIndexResDTO rebuildIndex();
+
+    ProductSuggestionIndexResDTO getIndexStatistics();
+
+}
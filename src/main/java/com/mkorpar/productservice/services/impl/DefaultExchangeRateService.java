@@ -1,34 +1,231 @@
 package com.mkorpar.productservice.services.impl;
 
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.mkorpar.productservice.clients.ExchangeRateApiClient;
 import com.mkorpar.productservice.clients.enums.ExchangeRateCurrency;
+import com.mkorpar.productservice.data.api.ExchangeRateApiResponse;
+import com.mkorpar.productservice.data.models.ExchangeRate;
+import com.mkorpar.productservice.data.models.ExchangeRateTable;
 import com.mkorpar.productservice.exceptions.ExchangeRateCallNotPermittedException;
 import com.mkorpar.productservice.exceptions.ExchangeRateUnavailableException;
 import com.mkorpar.productservice.exceptions.ExchangeRateUnexpectedException;
-import lombok.RequiredArgsConstructor;
+import com.mkorpar.productservice.repositories.ExchangeRateRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.Period;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+/**
+ * Exchange rate lists are kept in a loading cache which is refreshed asynchronously after write, so stale entries
+ * keep being served while the refresh is in flight. The list of the next day is prefetched in the background before
+ * the day changes over, therefore request threads call the exchange rate API only on a cold cache.
+ * <p>
+ * Whole daily list is fetched with a single API call and stored in the DB, which is read before the API is called.
+ * When the list is not available, the last known list not older than the configured period is used instead.
+ * <p>
+ * Concurrent misses of the same date share a single load, other callers wait for its result up to the configured
+ * timeout. Unavailable lists are cached only for a short period, so a burst of requests does not reach the API.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class DefaultExchangeRateService implements com.mkorpar.productservice.services.ExchangeRateService {
 
+    public static final String CACHE_NAME = "exchangeRates";
+    public static final String COALESCED_CALLS_METRIC = "exchange.rate.cache.coalesced.calls";
+    public static final String LOAD_TIMEOUTS_METRIC = "exchange.rate.cache.load.timeouts";
+
+    private static final String CACHE_MANAGER_TAG = "cache.manager";
+    private static final String CACHE_MANAGER_NAME = "cacheManager";
+    private static final String NAME_TAG = "name";
+
     private final ExchangeRateApiClient exchangeRateApiClient;
+    private final ExchangeRateRepository exchangeRateRepository;
+    private final Clock clock;
+    private final boolean fallbackEnabled;
+    private final Period fallbackMaxAge;
+    private final Duration loadTimeout;
+    private final Counter coalescedCalls;
+    private final Counter loadTimeouts;
+    private final AsyncLoadingCache<LocalDate, ExchangeRateTable> exchangeRateCache;
+
+    public DefaultExchangeRateService(ExchangeRateApiClient exchangeRateApiClient,
+                                      ExchangeRateRepository exchangeRateRepository,
+                                      Clock clock,
+                                      @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                                      Executor executor,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${exchange.rate.cache.maximum.size}") long maximumSize,
+                                      @Value("${exchange.rate.cache.refresh.after.write}") Duration refreshAfterWrite,
+                                      @Value("${exchange.rate.cache.negative.ttl}") Duration negativeTtl,
+                                      @Value("${exchange.rate.cache.load.timeout}") Duration loadTimeout,
+                                      @Value("${exchange.rate.fallback.enabled}") boolean fallbackEnabled,
+                                      @Value("${exchange.rate.fallback.max.age}") Period fallbackMaxAge) {
+        this.exchangeRateApiClient = exchangeRateApiClient;
+        this.exchangeRateRepository = exchangeRateRepository;
+        this.clock = clock;
+        this.fallbackEnabled = fallbackEnabled;
+        this.fallbackMaxAge = fallbackMaxAge;
+        this.loadTimeout = loadTimeout;
+        this.coalescedCalls = Counter.builder(COALESCED_CALLS_METRIC)
+                .description("Exchange rate cache calls which waited for a load started by another caller")
+                .register(meterRegistry);
+        this.loadTimeouts = Counter.builder(LOAD_TIMEOUTS_METRIC)
+                .description("Exchange rate cache calls which stopped waiting for a load")
+                .register(meterRegistry);
+        this.exchangeRateCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .refreshAfterWrite(refreshAfterWrite)
+                // Unavailable lists expire shortly, others are kept until evicted by size
+                .expireAfter(Expiry.<LocalDate, ExchangeRateTable>writing((date, exchangeRates) ->
+                        exchangeRates.isAvailable() ? Duration.ofNanos(Long.MAX_VALUE) : negativeTtl
+                ))
+                .executor(executor)
+                .recordStats()
+                .buildAsync(new ExchangeRateCacheLoader());
+        // Cache is registered in the cache manager after cache metrics are bound, so it is bound here
+        // with the same tags as caches of the cache manager (Prometheus requires the same tag keys)
+        CaffeineCacheMetrics.monitor(
+                meterRegistry, exchangeRateCache, CACHE_NAME, CACHE_MANAGER_TAG, CACHE_MANAGER_NAME, NAME_TAG, CACHE_NAME
+        );
+    }
 
     @Override
-    @Cacheable(value = "exchangeRates", key = "#currentDate")
-    public Optional<BigDecimal> getEurToUsdExchangeRate(LocalDate currentDate) {
+    public ExchangeRateTable getExchangeRateTable(LocalDate currentDate) {
+        // Map view is used to check for a load in flight, so cache statistics are not recorded twice
+        CompletableFuture<ExchangeRateTable> pendingExchangeRates = exchangeRateCache.asMap().get(currentDate);
+        if (pendingExchangeRates != null && !pendingExchangeRates.isDone()) {
+            coalescedCalls.increment();
+        }
+
+        CompletableFuture<ExchangeRateTable> exchangeRates = exchangeRateCache.get(currentDate);
+        try {
+            return exchangeRates.get(loadTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // Load keeps running for other callers, only this caller stops waiting
+            loadTimeouts.increment();
+            log.warn("Loading of exchange rates on date {} timed out after {}.", currentDate, loadTimeout);
+        } catch (ExecutionException e) {
+            log.error("Loading of exchange rates on date {} failed.", currentDate, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return ExchangeRateTable.unavailable(currentDate);
+    }
+
+    /**
+     * Synchronous view of the exchange rate cache, loads through the view are not bounded by the load timeout.
+     */
+    public LoadingCache<LocalDate, ExchangeRateTable> getExchangeRateCache() {
+        return exchangeRateCache.synchronous();
+    }
+
+    @Scheduled(cron = "${exchange.rate.prefetch.cron}", zone = "${exchange.rate.zone}")
+    public void prefetchNextDayExchangeRates() {
+        LocalDate nextDate = LocalDate.now(clock).plusDays(1);
+        // Only rates of the next day are cached, so the request path retries the API if the prefetch fails
+        getStoredOrFetchedExchangeRates(nextDate).ifPresent(exchangeRates -> {
+            exchangeRateCache.synchronous().put(nextDate, exchangeRates);
+            log.debug("Prefetched {} exchange rates for {}", exchangeRates.rates().size(), nextDate);
+        });
+    }
+
+    private ExchangeRateTable loadExchangeRates(LocalDate date) {
+        return getStoredOrFetchedExchangeRates(date)
+                .or(() -> getLastKnownExchangeRates(date))
+                .orElseGet(() -> ExchangeRateTable.unavailable(date));
+    }
+
+    private Optional<ExchangeRateTable> getStoredOrFetchedExchangeRates(LocalDate date) {
+        Optional<ExchangeRateTable> storedExchangeRates = getStoredExchangeRates(date);
+        if (storedExchangeRates.isPresent()) {
+            return storedExchangeRates;
+        }
+
+        Optional<ExchangeRateTable> fetchedExchangeRates = fetchExchangeRates(date);
+        fetchedExchangeRates.ifPresent(this::storeExchangeRates);
+        return fetchedExchangeRates;
+    }
+
+    private Optional<ExchangeRateTable> getStoredExchangeRates(LocalDate date) {
+        Map<ExchangeRateCurrency, BigDecimal> rates = new EnumMap<>(ExchangeRateCurrency.class);
+        exchangeRateRepository.findAllByDate(date)
+                .forEach(exchangeRate -> rates.put(exchangeRate.getCurrency(), exchangeRate.getRate()));
+        return rates.isEmpty() ? Optional.empty() : Optional.of(new ExchangeRateTable(date, rates));
+    }
+
+    private void storeExchangeRates(ExchangeRateTable exchangeRates) {
+        List<ExchangeRate> entities = exchangeRates.rates().entrySet().stream()
+                .map(rate -> new ExchangeRate(rate.getKey(), exchangeRates.date(), rate.getValue()))
+                .toList();
+        try {
+            exchangeRateRepository.saveAll(entities);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Exchange rates on date {} are already stored.", exchangeRates.date());
+        }
+    }
+
+    private Optional<ExchangeRateTable> getLastKnownExchangeRates(LocalDate date) {
+        if (!fallbackEnabled) {
+            return Optional.empty();
+        }
+
+        Optional<ExchangeRateTable> lastKnownExchangeRates = exchangeRateRepository
+                .findFirstByDateBetweenOrderByDateDesc(date.minus(fallbackMaxAge), date.minusDays(1))
+                .flatMap(exchangeRate -> getStoredExchangeRates(exchangeRate.getDate()));
+        lastKnownExchangeRates.ifPresent(exchangeRates ->
+                log.info("Using last known exchange rates from {} on date {}.", exchangeRates.date(), date)
+        );
+        return lastKnownExchangeRates;
+    }
+
+    private class ExchangeRateCacheLoader implements CacheLoader<LocalDate, ExchangeRateTable> {
+
+        @Override
+        public ExchangeRateTable load(LocalDate date) {
+            return loadExchangeRates(date);
+        }
+
+        @Override
+        public ExchangeRateTable reload(LocalDate date, ExchangeRateTable oldValue) {
+            // Published rates of a date do not change, only unavailable or last known rates are loaded again
+            return oldValue.isAvailable() && oldValue.date().equals(date) ? oldValue : loadExchangeRates(date);
+        }
+
+    }
+
+    private Optional<ExchangeRateTable> fetchExchangeRates(LocalDate currentDate) {
         try {
-            BigDecimal exchangeRate = exchangeRateApiClient.getExchangeRateAgainstEuro(
-                    ExchangeRateCurrency.USD, currentDate
-            ).getMiddleRate();
-            return Optional.of(exchangeRate);
+            List<ExchangeRateApiResponse> response = exchangeRateApiClient.getExchangeRatesAgainstEuro(currentDate);
+            Map<ExchangeRateCurrency, BigDecimal> rates = new EnumMap<>(ExchangeRateCurrency.class);
+            response.forEach(exchangeRate -> ExchangeRateCurrency.fromCode(exchangeRate.getCurrency())
+                    .ifPresent(currency -> rates.put(currency, exchangeRate.getMiddleRate()))
+            );
+            return rates.isEmpty() ? Optional.empty() : Optional.of(new ExchangeRateTable(currentDate, rates));
         } catch(ExchangeRateUnexpectedException e) {
             log.error(e.getMessage(), e.getCause());
             return Optional.empty();
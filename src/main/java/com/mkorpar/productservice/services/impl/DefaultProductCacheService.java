@@ -0,0 +1,33 @@
+package com.mkorpar.productservice.services.impl;
+
+import com.mkorpar.productservice.data.projections.ProductProjection;
+import com.mkorpar.productservice.repositories.ProductRepository;
+import com.mkorpar.productservice.services.ProductCacheService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+public class DefaultProductCacheService implements ProductCacheService {
+
+    public static final String CACHE_NAME = "products";
+
+    private final ProductRepository productRepository;
+
+    @Override
+    @Cacheable(value = CACHE_NAME, key = "#code", unless = "#result == null")
+    public Optional<ProductProjection> getProduct(String code) {
+        return productRepository.findProjectionByCode(code);
+    }
+
+    @Override
+    @CacheEvict(value = CACHE_NAME, key = "#code")
+    public void evictProduct(String code) {
+        // Entry is evicted by cache abstraction
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.mkorpar.productservice.services.impl;
+
+import com.mkorpar.productservice.services.ProductCountService;
+import com.mkorpar.productservice.utils.DatabaseUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Service
+public class DefaultProductCountService implements ProductCountService {
+
+    private static final long NOT_ESTIMATED = -1;
+    private static final String PLANNER_ESTIMATE_QUERY =
+            "select reltuples::bigint from pg_class where oid = to_regclass('products')";
+    private static final String COUNT_QUERY = "select count(*) from products";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgreSql;
+
+    private final AtomicLong estimatedCount = new AtomicLong(NOT_ESTIMATED);
+
+    public DefaultProductCountService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgreSql = DatabaseUtils.isPostgreSql(jdbcTemplate);
+    }
+
+    @Override
+    public long getEstimatedCount() {
+        long count = estimatedCount.get();
+        if (count == NOT_ESTIMATED) {
+            refreshEstimatedCount();
+            return estimatedCount.get();
+        }
+        return count;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${product.count.estimate.refresh.interval}")
+    public void refreshEstimatedCount() {
+        long count = postgreSql ? getPlannerEstimate() : getExactCount();
+        estimatedCount.set(count);
+        log.debug("Estimated product count refreshed to {}.", count);
+    }
+
+    private long getPlannerEstimate() {
+        Long estimate = jdbcTemplate.queryForObject(PLANNER_ESTIMATE_QUERY, Long.class);
+        // Tables which were never vacuumed or analyzed don't have an estimate (reltuples = -1)
+        if (estimate == null || estimate < 0) {
+            return getExactCount();
+        }
+        return estimate;
+    }
+
+    private long getExactCount() {
+        Long count = jdbcTemplate.queryForObject(COUNT_QUERY, Long.class);
+        return count == null ? 0 : count;
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.mkorpar.productservice.services.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mkorpar.productservice.clients.enums.ExchangeRateCurrency;
+import com.mkorpar.productservice.data.dtos.ProductResDTO;
+import com.mkorpar.productservice.data.enums.CatalogFormat;
+import com.mkorpar.productservice.data.models.ExchangeRateTable;
+import com.mkorpar.productservice.data.projections.ProductProjection;
+import com.mkorpar.productservice.mappers.ProductMapper;
+import com.mkorpar.productservice.repositories.ProductRepository;
+import com.mkorpar.productservice.services.ExchangeRateService;
+import com.mkorpar.productservice.services.ProductExportService;
+import com.mkorpar.productservice.utils.CsvUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Products are read with a forward-only stream of projections and written to the output stream one by one,
+ * so memory usage does not depend on the catalog size. Exchange rates are looked up once, before the read-only
+ * transaction is started, so a slow exchange rate load does not hold a DB connection.
+ */
+@Slf4j
+@Service
+public class DefaultProductExportService implements ProductExportService {
+
+    private static final String NEW_LINE = "\n";
+    private static final String CSV_SEPARATOR = String.valueOf(CsvUtils.SEPARATOR);
+    private static final String CSV_HEADER = "code,name,price_eur,price_usd,available,exchange_rate_date";
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final ExchangeRateService exchangeRateService;
+    private final Clock clock;
+    private final ObjectWriter ndjsonWriter;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public DefaultProductExportService(ProductRepository productRepository,
+                                       ProductMapper productMapper,
+                                       ExchangeRateService exchangeRateService,
+                                       Clock clock,
+                                       ObjectMapper objectMapper,
+                                       PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.exchangeRateService = exchangeRateService;
+        this.clock = clock;
+        // Output stream is flushed by the servlet container, flushing after each product would send tiny chunks
+        this.ndjsonWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("");
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void exportProducts(CatalogFormat format, Set<ExchangeRateCurrency> currencies, OutputStream outputStream) {
+        ExchangeRateTable exchangeRates = exchangeRateService.getExchangeRateTable(LocalDate.now(clock));
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<ProductProjection> products = productRepository.streamAllProjectionsBy()) {
+                Iterator<ProductResDTO> productResDTOs = products
+                        .map(product -> productMapper.map(product, exchangeRates, currencies))
+                        .iterator();
+                switch (format) {
+                    case NDJSON -> writeNdjson(productResDTOs, outputStream);
+                    case CSV -> writeCsv(productResDTOs, currencies, outputStream);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Product export was not completed.", e);
+            }
+        });
+        log.debug("Products exported in {} format.", format.getValue());
+    }
+
+    private void writeNdjson(Iterator<ProductResDTO> products, OutputStream outputStream) throws IOException {
+        try (JsonGenerator generator = ndjsonWriter.createGenerator(outputStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (products.hasNext()) {
+                ndjsonWriter.writeValue(generator, products.next());
+                generator.writeRaw(NEW_LINE);
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<ProductResDTO> products,
+                          Set<ExchangeRateCurrency> currencies,
+                          OutputStream outputStream) throws IOException {
+        List<ExchangeRateCurrency> priceColumns = currencies.stream().sorted().toList();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        for (ExchangeRateCurrency currency : priceColumns) {
+            writer.write(CSV_SEPARATOR + "price_" + currency.name().toLowerCase(Locale.ROOT));
+        }
+        writer.write(NEW_LINE);
+
+        while (products.hasNext()) {
+            ProductResDTO product = products.next();
+            writer.write(CsvUtils.escape(product.getCode()));
+            writer.write(CSV_SEPARATOR + CsvUtils.escape(product.getName()));
+            writer.write(CSV_SEPARATOR + toCsvValue(product.getPriceEur()));
+            writer.write(CSV_SEPARATOR + toCsvValue(product.getPriceUsd()));
+            writer.write(CSV_SEPARATOR + product.isAvailable());
+            writer.write(CSV_SEPARATOR + Objects.toString(product.getExchangeRateDate(), ""));
+            for (ExchangeRateCurrency currency : priceColumns) {
+                writer.write(CSV_SEPARATOR + toCsvValue(product.getPrices().get(currency)));
+            }
+            writer.write(NEW_LINE);
+        }
+        writer.flush();
+    }
+
+    private String toCsvValue(BigDecimal price) {
+        return price == null ? "" : price.toPlainString();
+    }
+
+}
@@ -0,0 +1,255 @@
+package com.mkorpar.productservice.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mkorpar.productservice.data.dtos.ProductImportResDTO;
+import com.mkorpar.productservice.data.dtos.ProductReqDTO;
+import com.mkorpar.productservice.data.enums.CatalogFormat;
+import com.mkorpar.productservice.data.models.Product;
+import com.mkorpar.productservice.exceptions.InvalidProductImportException;
+import com.mkorpar.productservice.mappers.ProductMapper;
+import com.mkorpar.productservice.repositories.ProductRepository;
+import com.mkorpar.productservice.services.ProductImportService;
+import com.mkorpar.productservice.services.ProductSuggestionService;
+import com.mkorpar.productservice.utils.CsvUtils;
+import com.mkorpar.productservice.utils.DatabaseUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Valid products are written in chunks, each chunk in its own transaction. On PostgreSQL a chunk is copied into
+ * a temporary staging table with COPY and merged into the products table with a single statement, which keeps
+ * the first product of every code and skips codes which already exist. Other databases (H2 in tests) fall back
+ * to JDBC batched inserts, with duplicates filtered per chunk.
+ * <p>
+ * Every chunk allocates a change sequence value, which serializes product writes until the chunk is committed,
+ * so chunk transactions keep single product writes from waiting for the whole import. Chunks committed before
+ * a failure stay imported. The upload is spooled to a temporary file first, so a slow client does not hold
+ * a connection, and every chunk transaction times out after {@code product.import.timeout}.
+ */
+@Slf4j
+@Service
+public class DefaultProductImportService implements ProductImportService {
+
+    private static final int SPOOL_BUFFER_SIZE = 8192;
+    private static final String CREATE_STAGING_TABLE = """
+            create temporary table products_import (
+                line_no bigint not null,
+                code varchar(10) not null,
+                name varchar(255) not null,
+                price_eur numeric(38,2) not null,
+                available boolean not null
+            ) on commit drop""";
+    private static final String COPY_TO_STAGING_TABLE =
+            "copy products_import (line_no, code, name, price_eur, available) from stdin with (format csv)";
+    // Ids are assigned by the column default, sequence values are bounds of Hibernate's pooled id blocks,
+    // so they never collide with ids allocated by Hibernate
+    private static final String MERGE_STAGING_TABLE = """
+            insert into products (code, name, price_eur, available, change_seq)
+            select distinct on (code) code, name, price_eur, available, ?
+            from products_import
+            order by code, line_no
+            on conflict (code) do nothing""";
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+    private final ProductSuggestionService productSuggestionService;
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ObjectReader productReader;
+    private final TransactionTemplate importTransaction;
+    private final int chunkSize;
+    private final DataSize maxSize;
+    private final boolean postgreSql;
+
+    public DefaultProductImportService(ProductRepository productRepository,
+                                       ProductMapper productMapper,
+                                       ProductSuggestionService productSuggestionService,
+                                       JdbcTemplate jdbcTemplate,
+                                       EntityManager entityManager,
+                                       Validator validator,
+                                       ObjectMapper objectMapper,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${product.import.chunk.size}") int chunkSize,
+                                       @Value("${product.import.max.size}") DataSize maxSize,
+                                       @Value("${product.import.timeout}") Duration timeout) {
+        this.productRepository = productRepository;
+        this.productMapper = productMapper;
+        this.productSuggestionService = productSuggestionService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.productReader = objectMapper.readerFor(ProductReqDTO.class);
+        this.importTransaction = new TransactionTemplate(transactionManager);
+        this.importTransaction.setTimeout((int) timeout.toSeconds());
+        this.chunkSize = chunkSize;
+        this.maxSize = maxSize;
+        this.postgreSql = DatabaseUtils.isPostgreSql(jdbcTemplate);
+    }
+
+    @Override
+    public ProductImportResDTO importProducts(CatalogFormat format, Charset charset, InputStream inputStream) {
+        Path spoolFile = spool(inputStream);
+        try (InputStream spooledStream = Files.newInputStream(spoolFile)) {
+            return importSpooledProducts(format, charset, spooledStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Product import was not completed.", e);
+        } finally {
+            deleteSpoolFile(spoolFile);
+        }
+    }
+
+    private ProductImportResDTO importSpooledProducts(CatalogFormat format, Charset charset, InputStream inputStream) {
+        ProductImportReader products = new ProductImportReader(format, charset, inputStream, productReader, validator);
+        Set<String> importedCodes = new HashSet<>();
+        List<ProductReqDTO> chunk = new ArrayList<>(chunkSize);
+        long insertedProducts = 0;
+        try {
+            while (products.hasNext()) {
+                chunk.add(products.next());
+                if (chunk.size() == chunkSize) {
+                    insertedProducts += importChunk(chunk, importedCodes);
+                    chunk.clear();
+                }
+            }
+            insertedProducts += importChunk(chunk, importedCodes);
+        } finally {
+            if (insertedProducts > 0) {
+                // Inserted codes are not known when products are merged with a single statement,
+                // so the suggestion index is rebuilt once chunks are committed
+                productSuggestionService.rebuildIndex();
+            }
+        }
+
+        long validProducts = products.getRowCount() - products.getSkippedCount();
+        ProductImportResDTO result = new ProductImportResDTO(
+                insertedProducts, validProducts - insertedProducts, products.getSkippedCount()
+        );
+        log.info("Product import finished: {}", result);
+        return result;
+    }
+
+    private long importChunk(List<ProductReqDTO> chunk, Set<String> importedCodes) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        return importTransaction.execute(status -> postgreSql ? mergeChunk(chunk) : saveChunk(chunk, importedCodes));
+    }
+
+    private Path spool(InputStream inputStream) {
+        Path spoolFile;
+        try {
+            spoolFile = Files.createTempFile("product-import", ".tmp");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Product import was not completed.", e);
+        }
+
+        boolean spooled = false;
+        try (OutputStream outputStream = Files.newOutputStream(spoolFile)) {
+            byte[] buffer = new byte[SPOOL_BUFFER_SIZE];
+            long size = 0;
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                size += read;
+                if (size > maxSize.toBytes()) {
+                    throw new InvalidProductImportException(
+                            String.format("Product import must not be larger than %d bytes.", maxSize.toBytes())
+                    );
+                }
+                outputStream.write(buffer, 0, read);
+            }
+            spooled = true;
+            return spoolFile;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Product import was not completed.", e);
+        } finally {
+            if (!spooled) {
+                deleteSpoolFile(spoolFile);
+            }
+        }
+    }
+
+    private void deleteSpoolFile(Path spoolFile) {
+        try {
+            Files.deleteIfExists(spoolFile);
+        } catch (IOException e) {
+            log.warn("Product import file {} was not deleted.", spoolFile, e);
+        }
+    }
+
+    private long mergeChunk(List<ProductReqDTO> chunk) {
+        jdbcTemplate.execute((ConnectionCallback<Long>) connection -> copyChunk(connection, chunk));
+        // Products of a chunk share the change sequence value, which is allocated right before the write
+        return jdbcTemplate.update(MERGE_STAGING_TABLE, productRepository.nextChangeSeq());
+    }
+
+    private long copyChunk(Connection connection, List<ProductReqDTO> chunk) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(CREATE_STAGING_TABLE);
+        }
+
+        StringBuilder rows = new StringBuilder();
+        for (int lineNumber = 0; lineNumber < chunk.size(); lineNumber++) {
+            ProductReqDTO product = chunk.get(lineNumber);
+            rows.append(CsvUtils.formatCopyRecord(
+                    lineNumber, product.getCode(), product.getName(), product.getPriceEur(), product.isAvailable()
+            ));
+        }
+        try {
+            return connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn(COPY_TO_STAGING_TABLE, new StringReader(rows.toString()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Product import was not completed.", e);
+        }
+    }
+
+    private long saveChunk(List<ProductReqDTO> chunk, Set<String> importedCodes) {
+        Set<String> existingCodes = productRepository.findExistingCodes(
+                chunk.stream().map(ProductReqDTO::getCode).toList()
+        );
+        List<Product> productsToSave = chunk.stream()
+                .filter(product -> !existingCodes.contains(product.getCode()) && importedCodes.add(product.getCode()))
+                .map(productMapper::map)
+                .toList();
+        if (productsToSave.isEmpty()) {
+            return 0;
+        }
+        // Products of a chunk share the change sequence value, which is allocated right before the write
+        long changeSeq = productRepository.nextChangeSeq();
+        productsToSave.forEach(product -> product.setChangeSeq(changeSeq));
+
+        productRepository.saveAll(productsToSave);
+        // Saved products are detached, so the persistence context does not grow with the import
+        entityManager.flush();
+        entityManager.clear();
+        return productsToSave.size();
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.mkorpar.productservice.services.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mkorpar.productservice.data.dtos.ProductResDTO;
+import com.mkorpar.productservice.data.enums.CacheExpiry;
+import com.mkorpar.productservice.data.models.EncodedResponse;
+import com.mkorpar.productservice.data.models.ProductResponseKey;
+import com.mkorpar.productservice.services.ProductResponseCacheService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caches serialized product responses of hot products, so their bodies are not serialized (and compressed) again.
+ * Entries are weighed by their body sizes and evicted when the memory budget is exceeded, Caffeine evicts entries
+ * which are least likely to be used again, expiry after write or access is configured with the expiry policy.
+ * <p>
+ * Product version and exchange rate date are part of the key, so a changed product or rate is never served from
+ * the cache. Responses of previous product versions are not requested anymore, so they are evicted by the budget
+ * or expiry, while all entries are evicted when newer rates are applied.
+ * <p>
+ * Only bodies of at least the minimum gzip size are compressed, since compression does not pay off for small bodies.
+ */
+@Service
+public class DefaultProductResponseCacheService implements ProductResponseCacheService {
+
+    public static final String CACHE_NAME = "productResponses";
+
+    private static final String CACHE_MANAGER_TAG = "cache.manager";
+    private static final String CACHE_MANAGER_NAME = "cacheManager";
+    private static final String NAME_TAG = "name";
+    // Approximate size of the key, entry and array headers
+    private static final int ENTRY_OVERHEAD = 256;
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int gzipMinSize;
+    private final Cache<ProductResponseKey, EncodedResponse> responseCache;
+
+    private volatile LocalDate exchangeRateDate;
+
+    public DefaultProductResponseCacheService(ObjectMapper objectMapper,
+                                              MeterRegistry meterRegistry,
+                                              @Value("${product.response.cache.enabled}") boolean enabled,
+                                              @Value("${product.response.cache.gzip.min.size}") DataSize gzipMinSize,
+                                              @Value("${product.response.cache.maximum.size}") DataSize maximumSize,
+                                              @Value("${product.response.cache.expiry}") CacheExpiry expiry,
+                                              @Value("${product.response.cache.expire.after}") Duration expireAfter) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.gzipMinSize = Math.toIntExact(gzipMinSize.toBytes());
+
+        Caffeine<ProductResponseKey, EncodedResponse> builder = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .weigher((ProductResponseKey key, EncodedResponse response) -> ENTRY_OVERHEAD + response.size())
+                .recordStats();
+        switch (expiry) {
+            case AFTER_ACCESS -> builder.expireAfterAccess(expireAfter);
+            case AFTER_WRITE -> builder.expireAfterWrite(expireAfter);
+            case NONE -> {
+                // Entries are evicted only by the memory budget
+            }
+        }
+        this.responseCache = builder.build();
+        // Cache is not managed by the cache manager, it is bound with the same tags as caches of the cache manager
+        // (Prometheus requires the same tag keys)
+        CaffeineCacheMetrics.monitor(
+                meterRegistry, responseCache, CACHE_NAME, CACHE_MANAGER_TAG, CACHE_MANAGER_NAME, NAME_TAG, CACHE_NAME
+        );
+    }
+
+    @Override
+    public EncodedResponse getResponse(ProductResponseKey key, Supplier<ProductResDTO> product) {
+        if (!enabled) {
+            return new EncodedResponse(serialize(product.get()), null);
+        }
+
+        evictOutdatedExchangeRates(key.exchangeRateDate());
+        return responseCache.get(key, ignored -> {
+            byte[] body = serialize(product.get());
+            return new EncodedResponse(body, body.length >= gzipMinSize ? compress(body) : null);
+        });
+    }
+
+    private void evictOutdatedExchangeRates(LocalDate date) {
+        if (date != null && (exchangeRateDate == null || date.isAfter(exchangeRateDate))) {
+            synchronized (this) {
+                if (exchangeRateDate == null || date.isAfter(exchangeRateDate)) {
+                    if (exchangeRateDate != null) {
+                        responseCache.invalidateAll();
+                    }
+                    exchangeRateDate = date;
+                }
+            }
+        }
+    }
+
+    private byte[] serialize(ProductResDTO product) {
+        try {
+            return objectMapper.writeValueAsBytes(product);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] compress(byte[] body) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(body.length / 2);
+        try (GZIPOutputStream gzipOutputStream = new GZIPOutputStream(outputStream)) {
+            gzipOutputStream.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return outputStream.toByteArray();
+    }
+
+}
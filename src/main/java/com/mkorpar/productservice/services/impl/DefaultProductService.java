@@ -1,52 +1,500 @@
 package com.mkorpar.productservice.services.impl;
 
+import com.mkorpar.productservice.clients.enums.ExchangeRateCurrency;
 import com.mkorpar.productservice.data.dtos.PageResDTO;
+import com.mkorpar.productservice.data.dtos.ProductBatchItemResDTO;
+import com.mkorpar.productservice.data.dtos.ProductBatchResDTO;
+import com.mkorpar.productservice.data.dtos.ProductChangesResDTO;
+import com.mkorpar.productservice.data.dtos.ProductPatchReqDTO;
 import com.mkorpar.productservice.data.dtos.ProductReqDTO;
 import com.mkorpar.productservice.data.dtos.ProductResDTO;
+import com.mkorpar.productservice.data.dtos.ProductSuggestionResDTO;
+import com.mkorpar.productservice.data.enums.CountMode;
+import com.mkorpar.productservice.data.enums.ProductSortProperty;
+import com.mkorpar.productservice.data.models.ConditionalResult;
+import com.mkorpar.productservice.data.models.EncodedResponse;
+import com.mkorpar.productservice.data.models.ExchangeRateSnapshot;
+import com.mkorpar.productservice.data.models.ExchangeRateTable;
 import com.mkorpar.productservice.data.models.Product;
+import com.mkorpar.productservice.data.models.ProductChangeToken;
+import com.mkorpar.productservice.data.models.ProductCursor;
+import com.mkorpar.productservice.data.models.ProductFilter;
+import com.mkorpar.productservice.data.models.ProductResponseKey;
+import com.mkorpar.productservice.data.projections.ProductChangeProjection;
+import com.mkorpar.productservice.data.projections.ProductProjection;
+import com.mkorpar.productservice.data.rest.ValidationErrorData;
+import com.mkorpar.productservice.exceptions.BatchSizeExceededException;
 import com.mkorpar.productservice.exceptions.DuplicateProductCodeException;
 import com.mkorpar.productservice.exceptions.ProductNotFoundException;
-import com.mkorpar.productservice.mappers.CoreModelMapper;
+import com.mkorpar.productservice.exceptions.ProductVersionConflictException;
+import com.mkorpar.productservice.mappers.ProductMapper;
+import com.mkorpar.productservice.mappers.ValidationErrorMapper;
 import com.mkorpar.productservice.repositories.ProductRepository;
+import com.mkorpar.productservice.services.ExchangeRateService;
+import com.mkorpar.productservice.services.ProductCacheService;
+import com.mkorpar.productservice.services.ProductCountService;
+import com.mkorpar.productservice.services.ProductResponseCacheService;
 import com.mkorpar.productservice.services.ProductService;
+import com.mkorpar.productservice.services.ProductSuggestionService;
+import com.mkorpar.productservice.utils.ETagUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
 public class DefaultProductService implements ProductService {
 
-    private final CoreModelMapper modelMapper;
+    public static final String MAPPING_METRIC = "product.mapping";
+    public static final String PAGE_SIZE_METRIC = "product.page.size";
+
+    private static final String PAGINATION_TAG = "pagination";
+    private static final String OFFSET_PAGINATION = "offset";
+    private static final String CURSOR_PAGINATION = "cursor";
+    private static final String CHANGE_FEED = "changes";
+
+    // PostgreSQL reports the constraint name, H2 the schema qualified name of the index backing the constraint
+    private static final Pattern CODE_UNIQUE_CONSTRAINT_PATTERN = Pattern.compile(
+            "(\\w+\\.)?" + Product.CODE_UNIQUE_CONSTRAINT + "(_index_\\w+)?", Pattern.CASE_INSENSITIVE
+    );
+
+    private final ProductMapper productMapper;
     private final ProductRepository productRepository;
+    private final ProductCacheService productCacheService;
+    private final ProductResponseCacheService productResponseCacheService;
+    private final ProductSuggestionService productSuggestionService;
+    private final ExchangeRateService exchangeRateService;
+    private final ProductCountService productCountService;
+    private final Validator validator;
+    private final ValidationErrorMapper validationErrorMapper;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${product.batch.max.size}")
+    private int batchMaxSize;
 
     @Override
+    @Transactional
     public ProductResDTO createProduct(ProductReqDTO productReqDTO) {
-        String productCode = productReqDTO.getCode();
-        if (productRepository.findProductByCode(productCode).isPresent()) {
-            throw new DuplicateProductCodeException(String.format("Product with code %s already exists.", productCode));
+        Product product = productMapper.map(productReqDTO);
+        // A create takes two statements, the change sequence allocation and the insert, the allocation is the last
+        // statement before the insert, so the counter row is locked only for the insert and the commit
+        product.setChangeSeq(productRepository.nextChangeSeq());
+        try {
+            // Uniqueness of product code is enforced by the DB constraint, flush surfaces the violation right away
+            productRepository.saveAndFlush(product);
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicateCodeViolation(e)) {
+                throw e;
+            }
+            throw new DuplicateProductCodeException(
+                    String.format("Product with code %s already exists.", productReqDTO.getCode())
+            );
+        }
+        evictProduct(product.getCode());
+        productSuggestionService.addProducts(List.of(toSuggestion(product)));
+        return productMapper.map(product, getEurToUsdExchangeRateSnapshot());
+    }
+
+    @Override
+    @Transactional
+    public ProductBatchResDTO createProducts(List<ProductReqDTO> productReqDTOs) {
+        if (productReqDTOs.size() > batchMaxSize) {
+            throw new BatchSizeExceededException(
+                    String.format("Batch contains %d products, at most %d are allowed.", productReqDTOs.size(), batchMaxSize)
+            );
+        }
+
+        ProductBatchItemResDTO[] results = new ProductBatchItemResDTO[productReqDTOs.size()];
+        Map<Integer, ProductReqDTO> validProducts = validateProducts(productReqDTOs, results);
+        Map<Integer, Product> productsToCreate = filterDuplicateProducts(validProducts, results);
+        if (!productsToCreate.isEmpty()) {
+            // Products of the batch are written by one transaction, so they share the change sequence value
+            long changeSeq = productRepository.nextChangeSeq();
+            productsToCreate.values().forEach(product -> product.setChangeSeq(changeSeq));
+        }
+
+        try {
+            productRepository.saveAllAndFlush(productsToCreate.values());
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicateCodeViolation(e)) {
+                throw e;
+            }
+            throw new DuplicateProductCodeException("One or more products of the batch already exist.");
+        }
+
+        productSuggestionService.addProducts(productsToCreate.values().stream().map(this::toSuggestion).toList());
+
+        ExchangeRateSnapshot exchangeRate = getEurToUsdExchangeRateSnapshot();
+        productsToCreate.forEach((index, product) ->
+                results[index] = ProductBatchItemResDTO.created(index, productMapper.map(product, exchangeRate))
+        );
+        return ProductBatchResDTO.from(Arrays.asList(results));
+    }
+
+    /**
+     * Product is updated with a single statement, which is matched by code and version, so the product is not loaded
+     * before the update. When no product is updated, the product is read to tell a missing product from a conflict.
+     * Updated product is read in the same transaction by its new version, the updated row stays locked until commit,
+     * so the response is the state written by this update.
+     */
+    @Override
+    @Transactional
+    public ProductResDTO updateProduct(String code, ProductPatchReqDTO productPatchReqDTO) {
+        int updatedProducts = productRepository.updateProduct(
+                code,
+                productPatchReqDTO.getVersion(),
+                productPatchReqDTO.getName(),
+                productPatchReqDTO.getPriceEur(),
+                productPatchReqDTO.getAvailable(),
+                productRepository.nextChangeSeq()
+        );
+        if (updatedProducts == 0) {
+            productRepository.findProjectionByCode(code)
+                    .orElseThrow(() -> new ProductNotFoundException(String.format("Product with code %s not found.", code)));
+            throw new ProductVersionConflictException(String.format(
+                    "Product with code %s was changed, version %d is not current.", code, productPatchReqDTO.getVersion()
+            ));
+        }
+
+        evictProduct(code);
+        long updatedVersion = productPatchReqDTO.getVersion() + 1;
+        ProductProjection product = productRepository.findProjectionByCodeAndVersion(code, updatedVersion)
+                .orElseThrow(() -> new IllegalStateException(String.format("Updated product %s was not found.", code)));
+        if (productPatchReqDTO.getName() != null) {
+            productSuggestionService.replaceProducts(List.of(new ProductSuggestionResDTO(code, product.name())));
+        }
+        return productMapper.map(product, getEurToUsdExchangeRateSnapshot());
+    }
+
+    /**
+     * Product is evicted right away and once more after commit, since a concurrent read between the first eviction
+     * and the commit can cache the previous state of the product again.
+     */
+    private void evictProduct(String code) {
+        productCacheService.evictProduct(code);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    productCacheService.evictProduct(code);
+                }
+            });
         }
+    }
 
-        Product product = modelMapper.map(productReqDTO, Product.class);
-        productRepository.save(product);
-        return modelMapper.map(productRepository.save(product), ProductResDTO.class);
+    private ProductSuggestionResDTO toSuggestion(Product product) {
+        return new ProductSuggestionResDTO(product.getCode(), product.getName());
+    }
+
+    private Map<Integer, ProductReqDTO> validateProducts(List<ProductReqDTO> productReqDTOs,
+                                                        ProductBatchItemResDTO[] results) {
+        Map<Integer, ProductReqDTO> validProducts = new LinkedHashMap<>();
+        for (int index = 0; index < productReqDTOs.size(); index++) {
+            ProductReqDTO productReqDTO = productReqDTOs.get(index);
+            if (productReqDTO == null) {
+                results[index] = ProductBatchItemResDTO.invalid(
+                        index, null, List.of(new ValidationErrorData("", "must not be null"))
+                );
+                continue;
+            }
+
+            Set<ConstraintViolation<ProductReqDTO>> violations = validator.validate(productReqDTO);
+            if (violations.isEmpty()) {
+                validProducts.put(index, productReqDTO);
+            } else {
+                results[index] = ProductBatchItemResDTO.invalid(
+                        index, productReqDTO.getCode(), validationErrorMapper.mapList(violations)
+                );
+            }
+        }
+        return validProducts;
+    }
+
+    private Map<Integer, Product> filterDuplicateProducts(Map<Integer, ProductReqDTO> validProducts,
+                                                          ProductBatchItemResDTO[] results) {
+        Set<String> existingCodes = validProducts.isEmpty()
+                ? Set.of()
+                : productRepository.findExistingCodes(validProducts.values().stream().map(ProductReqDTO::getCode).toList());
+        Set<String> batchCodes = new HashSet<>();
+
+        Map<Integer, Product> productsToCreate = new LinkedHashMap<>();
+        validProducts.forEach((index, productReqDTO) -> {
+            String code = productReqDTO.getCode();
+            if (existingCodes.contains(code) || !batchCodes.add(code)) {
+                results[index] = ProductBatchItemResDTO.duplicate(index, code);
+            } else {
+                productsToCreate.put(index, productMapper.map(productReqDTO));
+            }
+        });
+        return productsToCreate;
     }
 
     @Override
     public ProductResDTO getProduct(String code) {
-        Product product = productRepository.findProductByCode(code)
+        return getProduct(code, Set.of());
+    }
+
+    @Override
+    public ProductResDTO getProduct(String code, Set<ExchangeRateCurrency> currencies) {
+        return getConditionalProduct(code, currencies).body().get();
+    }
+
+    @Override
+    public ConditionalResult<ProductResDTO> getConditionalProduct(String code, Set<ExchangeRateCurrency> currencies) {
+        ProductProjection product = getCachedProduct(code);
+        ExchangeRateTable exchangeRates = getExchangeRateTable();
+        return new ConditionalResult<>(
+                getProductETag(product, exchangeRates, currencies),
+                () -> productMapper.map(product, exchangeRates, currencies)
+        );
+    }
+
+    @Override
+    public ConditionalResult<EncodedResponse> getConditionalEncodedProduct(String code,
+                                                                         Set<ExchangeRateCurrency> currencies) {
+        ProductProjection product = getCachedProduct(code);
+        ExchangeRateTable exchangeRates = getExchangeRateTable();
+        ProductResponseKey responseKey = new ProductResponseKey(
+                code, product.version(), getExchangeRatesDate(exchangeRates), sorted(currencies)
+        );
+        return new ConditionalResult<>(
+                getProductETag(product, exchangeRates, currencies),
+                () -> productResponseCacheService.getResponse(
+                        responseKey, () -> productMapper.map(product, exchangeRates, currencies)
+                )
+        );
+    }
+
+    private ProductProjection getCachedProduct(String code) {
+        return productCacheService.getProduct(code)
                 .orElseThrow(() -> new ProductNotFoundException(String.format("Product with code %s not found.", code)));
-        return modelMapper.map(product, ProductResDTO.class);
+    }
+
+    private String getProductETag(ProductProjection product,
+                                  ExchangeRateTable exchangeRates,
+                                  Set<ExchangeRateCurrency> currencies) {
+        return ETagUtils.strongETag(
+                product.id(), product.version(), getExchangeRatesDate(exchangeRates), sorted(currencies)
+        );
     }
 
     @Override
     public PageResDTO<ProductResDTO> getAllProducts(Pageable pageable) {
-        Page<Product> foundProductsPage = productRepository.findAll(pageable);
-        return PageResDTO.from(
-                foundProductsPage,
-                modelMapper.mapList(foundProductsPage.getContent(), ProductResDTO.class)
+        return getAllProducts(pageable, CountMode.EXACT, Set.of());
+    }
+
+    @Override
+    public PageResDTO<ProductResDTO> getAllProducts(Pageable pageable,
+                                                    CountMode countMode,
+                                                    Set<ExchangeRateCurrency> currencies) {
+        return getConditionalProducts(pageable, countMode, ProductFilter.none(), currencies).body().get();
+    }
+
+    @Override
+    public ConditionalResult<PageResDTO<ProductResDTO>> getConditionalProducts(Pageable pageable,
+                                                                               CountMode countMode,
+                                                                               ProductFilter filter,
+                                                                               Set<ExchangeRateCurrency> currencies) {
+        Pageable indexedPageable = toIndexedPageable(pageable);
+        ExchangeRateTable exchangeRates = getExchangeRateTable();
+        Optional<ProductFilter> eurFilter = toEurFilter(filter, exchangeRates);
+        if (countMode == CountMode.EXACT) {
+            Page<ProductProjection> foundProductsPage = eurFilter
+                    .map(productFilter -> productFilter.isEmpty()
+                            ? productRepository.findPageBy(indexedPageable)
+                            : productRepository.findPage(productFilter, indexedPageable))
+                    .orElseGet(() -> Page.empty(indexedPageable));
+            return new ConditionalResult<>(
+                    getPageETag(foundProductsPage, foundProductsPage.getTotalElements(), exchangeRates, currencies),
+                    () -> PageResDTO.from(
+                            foundProductsPage,
+                            mapProducts(foundProductsPage, OFFSET_PAGINATION, exchangeRates, currencies)
+                    )
+            );
+        }
+
+        Slice<ProductProjection> foundProductsSlice = eurFilter
+                .map(productFilter -> productFilter.isEmpty()
+                        ? productRepository.findAllBy(indexedPageable)
+                        : productRepository.findSlice(productFilter, indexedPageable))
+                .orElseGet(() -> new SliceImpl<>(List.of(), indexedPageable, false));
+        // Estimate is available only for the whole table, so filtered totals are not computed
+        CountMode appliedCountMode = countMode == CountMode.ESTIMATED && !filter.isEmpty() ? CountMode.NONE : countMode;
+        Long totalElements = appliedCountMode == CountMode.ESTIMATED ? getEstimatedTotalElements(foundProductsSlice) : null;
+        return new ConditionalResult<>(
+                getPageETag(foundProductsSlice, totalElements, exchangeRates, currencies),
+                () -> PageResDTO.from(
+                        foundProductsSlice,
+                        mapProducts(foundProductsSlice, OFFSET_PAGINATION, exchangeRates, currencies),
+                        totalElements,
+                        appliedCountMode
+                )
+        );
+    }
+
+    private Pageable toIndexedPageable(Pageable pageable) {
+        Sort sort = ProductSortProperty.toIndexedSort(pageable.getSort());
+        return pageable.isPaged()
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort)
+                : Pageable.unpaged(sort);
+    }
+
+    private long getEstimatedTotalElements(Slice<ProductProjection> slice) {
+        long offset = slice.getPageable().isPaged() ? slice.getPageable().getOffset() : 0;
+        long seenElements = offset + slice.getNumberOfElements();
+        if (!slice.hasNext()) {
+            return seenElements;
+        }
+        return Math.max(productCountService.getEstimatedCount(), seenElements + 1);
+    }
+
+    @Override
+    public PageResDTO<ProductResDTO> getAllProducts(String cursor,
+                                                    Pageable pageable,
+                                                    Set<ExchangeRateCurrency> currencies) {
+        return getConditionalProducts(cursor, pageable, ProductFilter.none(), currencies).body().get();
+    }
+
+    @Override
+    public ConditionalResult<PageResDTO<ProductResDTO>> getConditionalProducts(String cursor,
+                                                                               Pageable pageable,
+                                                                               ProductFilter filter,
+                                                                               Set<ExchangeRateCurrency> currencies) {
+        ProductCursor productCursor = cursor.isEmpty()
+                ? ProductCursor.first(pageable.getSort())
+                : ProductCursor.decode(cursor);
+
+        ExchangeRateTable exchangeRates = getExchangeRateTable();
+        PageRequest slicePageable = PageRequest.of(0, pageable.getPageSize(), productCursor.toSort());
+        Slice<ProductProjection> foundProductsSlice = toEurFilter(filter, exchangeRates)
+                .map(productFilter -> productFilter.isEmpty()
+                        ? findProductsSlice(productCursor, slicePageable)
+                        : productRepository.findSliceAfter(productFilter, productCursor, slicePageable))
+                .orElseGet(() -> new SliceImpl<>(List.of(), slicePageable, false));
+        String nextCursor = foundProductsSlice.hasNext()
+                ? productCursor.after(foundProductsSlice.getContent().getLast()).encode()
+                : null;
+
+        return new ConditionalResult<>(
+                getPageETag(foundProductsSlice, nextCursor, exchangeRates, currencies),
+                () -> PageResDTO.from(
+                        foundProductsSlice,
+                        mapProducts(foundProductsSlice, CURSOR_PAGINATION, exchangeRates, currencies),
+                        productCursor.isFirst(),
+                        nextCursor
+                )
+        );
+    }
+
+    @Override
+    public ProductChangesResDTO getProductChanges(String since, int limit) {
+        ProductChangeToken token = since.isEmpty() ? ProductChangeToken.first() : ProductChangeToken.decode(since);
+        Slice<ProductChangeProjection> changes = productRepository.findChangesAfter(
+                token.changeSeq(), token.id(), PageRequest.ofSize(limit)
         );
+        ProductChangeToken nextToken = changes.hasContent() ? token.after(changes.getContent().getLast()) : token;
+        List<ProductResDTO> products = mapProducts(
+                changes.map(ProductChangeProjection::toProductProjection), CHANGE_FEED, getExchangeRateTable(), Set.of()
+        );
+        return new ProductChangesResDTO(products, nextToken.encode(), changes.hasNext());
+    }
+
+    private Optional<ProductFilter> toEurFilter(ProductFilter filter, ExchangeRateTable exchangeRates) {
+        return filter.toEurFilter(exchangeRates.snapshot(ExchangeRateCurrency.USD));
+    }
+
+    private Slice<ProductProjection> findProductsSlice(ProductCursor cursor, Pageable pageable) {
+        if (cursor.isFirst()) {
+            return productRepository.findAllBy(pageable);
+        }
+
+        boolean ascending = cursor.direction().isAscending();
+        if (cursor.isSortedByCode()) {
+            return ascending
+                    ? productRepository.findAllAfterCode(cursor.code(), cursor.id(), pageable)
+                    : productRepository.findAllBeforeCode(cursor.code(), cursor.id(), pageable);
+        }
+        return ascending
+                ? productRepository.findAllByIdGreaterThan(cursor.id(), pageable)
+                : productRepository.findAllByIdLessThan(cursor.id(), pageable);
+    }
+
+    private List<ProductResDTO> mapProducts(Slice<ProductProjection> products,
+                                            String pagination,
+                                            ExchangeRateTable exchangeRates,
+                                            Set<ExchangeRateCurrency> currencies) {
+        meterRegistry.summary(PAGE_SIZE_METRIC, PAGINATION_TAG, pagination).record(products.getNumberOfElements());
+        return meterRegistry.timer(MAPPING_METRIC)
+                .record(() -> productMapper.mapList(products.getContent(), exchangeRates, currencies));
+    }
+
+    /**
+     * Page representation is determined by ids and versions of its products, page position, totals (or next cursor)
+     * and exchange rates, request parameters are part of the request URL.
+     */
+    private String getPageETag(Slice<ProductProjection> products,
+                               Object totals,
+                               ExchangeRateTable exchangeRates,
+                               Set<ExchangeRateCurrency> currencies) {
+        StringBuilder versions = new StringBuilder();
+        products.forEach(product -> versions.append(product.id()).append(':').append(product.version()).append(','));
+        return ETagUtils.strongETag(
+                versions,
+                products.getNumber(),
+                products.getSize(),
+                products.hasNext(),
+                totals,
+                getExchangeRatesDate(exchangeRates),
+                sorted(currencies)
+        );
+    }
+
+    private LocalDate getExchangeRatesDate(ExchangeRateTable exchangeRates) {
+        return exchangeRates.isAvailable() ? exchangeRates.date() : null;
+    }
+
+    private List<ExchangeRateCurrency> sorted(Set<ExchangeRateCurrency> currencies) {
+        return currencies.stream().sorted().toList();
+    }
+
+    private static boolean isDuplicateCodeViolation(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && CODE_UNIQUE_CONSTRAINT_PATTERN.matcher(violation.getConstraintName()).matches();
+    }
+
+    private ExchangeRateTable getExchangeRateTable() {
+        return exchangeRateService.getExchangeRateTable(LocalDate.now(clock));
+    }
+
+    private ExchangeRateSnapshot getEurToUsdExchangeRateSnapshot() {
+        return exchangeRateService.getEurToUsdExchangeRateSnapshot(LocalDate.now(clock));
     }
 
 }
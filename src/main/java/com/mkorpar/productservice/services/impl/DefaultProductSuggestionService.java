@@ -0,0 +1,175 @@
+package com.mkorpar.productservice.services.impl;
+
+import com.mkorpar.productservice.data.dtos.ProductSuggestionIndexResDTO;
+import com.mkorpar.productservice.data.dtos.ProductSuggestionResDTO;
+import com.mkorpar.productservice.data.models.ProductSuggestionIndex;
+import com.mkorpar.productservice.repositories.ProductRepository;
+import com.mkorpar.productservice.services.ProductSuggestionService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Serves product suggestions from an in-memory {@link ProductSuggestionIndex}, which is built from all products
+ * when the application is ready and updated with created products, so suggestions do not query the database.
+ * Products created while the index is rebuilt are added to the rebuilt index. Created and replaced products are
+ * written to the delta of the index, which is merged into the main index in batches of the maximum delta size.
+ */
+@Slf4j
+@Service
+public class DefaultProductSuggestionService implements ProductSuggestionService {
+
+    public static final String INDEX_MEMORY_METRIC = "product.suggestion.index.memory";
+    public static final String INDEX_KEYS_METRIC = "product.suggestion.index.keys";
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int maxDeltaSize;
+    private final Object indexLock = new Object();
+    private final Object rebuildLock = new Object();
+
+    private volatile ProductSuggestionIndex index;
+    private List<ProductSuggestionResDTO> productsAddedDuringRebuild;
+    private List<ProductSuggestionResDTO> productsReplacedDuringRebuild;
+
+    public DefaultProductSuggestionService(ProductRepository productRepository,
+                                           PlatformTransactionManager transactionManager,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${product.suggestion.index.delta.max.size}") int maxDeltaSize) {
+        this.productRepository = productRepository;
+        this.maxDeltaSize = maxDeltaSize;
+        this.index = ProductSuggestionIndex.empty(maxDeltaSize);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // Index can be rebuilt after commit of another transaction, whose resources are still bound
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        Gauge.builder(INDEX_MEMORY_METRIC, this, service -> service.index.getMemoryBytes())
+                .description("Estimated heap memory used by the product suggestion index")
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+        Gauge.builder(INDEX_KEYS_METRIC, this, service -> service.index.getKeyCount())
+                .description("Product codes and name words in the product suggestion index")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<ProductSuggestionResDTO> suggestProducts(String prefix, int limit) {
+        return index.suggest(prefix, limit);
+    }
+
+    /**
+     * Products created in a transaction are added after it is committed.
+     */
+    @Override
+    public void addProducts(Collection<ProductSuggestionResDTO> products) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<ProductSuggestionResDTO> committedProducts = List.copyOf(products);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addToIndex(committedProducts);
+                }
+            });
+        } else {
+            addToIndex(products);
+        }
+    }
+
+    /**
+     * Products updated in a transaction are replaced after it is committed.
+     */
+    @Override
+    public void replaceProducts(Collection<ProductSuggestionResDTO> products) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<ProductSuggestionResDTO> committedProducts = List.copyOf(products);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    replaceInIndex(committedProducts);
+                }
+            });
+        } else {
+            replaceInIndex(products);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        rebuildIndex();
+    }
+
+    @Override
+    public ProductSuggestionIndexResDTO rebuildIndex() {
+        synchronized (rebuildLock) {
+            synchronized (indexLock) {
+                productsAddedDuringRebuild = new ArrayList<>();
+                productsReplacedDuringRebuild = new ArrayList<>();
+            }
+
+            ProductSuggestionIndex rebuiltIndex = null;
+            try {
+                rebuiltIndex = readOnlyTransaction.execute(status -> {
+                    try (Stream<ProductSuggestionResDTO> products = productRepository.streamAllProjectionsBy()
+                            .map(product -> new ProductSuggestionResDTO(product.code(), product.name()))) {
+                        return ProductSuggestionIndex.build(products.iterator(), maxDeltaSize);
+                    }
+                });
+            } finally {
+                synchronized (indexLock) {
+                    if (rebuiltIndex != null) {
+                        index = rebuiltIndex.withProducts(productsAddedDuringRebuild)
+                                .withReplacedProducts(productsReplacedDuringRebuild);
+                    }
+                    productsAddedDuringRebuild = null;
+                    productsReplacedDuringRebuild = null;
+                }
+            }
+        }
+
+        ProductSuggestionIndexResDTO statistics = getIndexStatistics();
+        log.info("Product suggestion index rebuilt: {}", statistics);
+        return statistics;
+    }
+
+    @Override
+    public ProductSuggestionIndexResDTO getIndexStatistics() {
+        ProductSuggestionIndex currentIndex = index;
+        return new ProductSuggestionIndexResDTO(
+                currentIndex.getProductCount(), currentIndex.getKeyCount(), currentIndex.getMemoryBytes()
+        );
+    }
+
+    private void addToIndex(Collection<ProductSuggestionResDTO> products) {
+        synchronized (indexLock) {
+            index = index.withProducts(products);
+            if (productsAddedDuringRebuild != null) {
+                productsAddedDuringRebuild.addAll(products);
+            }
+        }
+    }
+
+    private void replaceInIndex(Collection<ProductSuggestionResDTO> products) {
+        synchronized (indexLock) {
+            index = index.withReplacedProducts(products);
+            if (productsReplacedDuringRebuild != null) {
+                productsReplacedDuringRebuild.addAll(products);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,184 @@
+package com.mkorpar.productservice.services.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mkorpar.productservice.data.dtos.ProductReqDTO;
+import com.mkorpar.productservice.data.enums.CatalogFormat;
+import com.mkorpar.productservice.exceptions.InvalidProductImportException;
+import com.mkorpar.productservice.utils.CsvUtils;
+import jakarta.validation.Validator;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily reads products of an import stream decoded with the charset of the request, one NDJSON line or CSV record
+ * at a time. Malformed rows and rows which don't satisfy {@link ProductReqDTO} constraints are skipped and counted.
+ * <p>
+ * CSV columns are matched by header names (code, name, price_eur and optional available), other columns are ignored,
+ * so the output of the product export can be imported.
+ */
+@Slf4j
+class ProductImportReader implements Iterator<ProductReqDTO> {
+
+    private static final String CODE_COLUMN = "code";
+    private static final String NAME_COLUMN = "name";
+    private static final String PRICE_EUR_COLUMN = "price_eur";
+    private static final String AVAILABLE_COLUMN = "available";
+
+    private final CatalogFormat format;
+    private final ObjectReader productReader;
+    private final Validator validator;
+    private final BufferedReader reader;
+    private final Map<String, Integer> csvColumns;
+
+    @Getter
+    private long rowCount;
+
+    @Getter
+    private long skippedCount;
+
+    private ProductReqDTO next;
+
+    ProductImportReader(CatalogFormat format,
+                        Charset charset,
+                        InputStream inputStream,
+                        ObjectReader productReader,
+                        Validator validator) {
+        this.format = format;
+        this.productReader = productReader;
+        this.validator = validator;
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, charset));
+        this.csvColumns = format == CatalogFormat.CSV ? readCsvHeader() : Map.of();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (next == null) {
+            String row = readRow();
+            if (row == null) {
+                return false;
+            }
+            next = parseRow(row);
+        }
+        return true;
+    }
+
+    @Override
+    public ProductReqDTO next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ProductReqDTO product = next;
+        next = null;
+        return product;
+    }
+
+    private ProductReqDTO parseRow(String row) {
+        if (row.isBlank()) {
+            return null;
+        }
+
+        rowCount++;
+        ProductReqDTO product = format == CatalogFormat.CSV ? parseCsvRow(row) : parseNdjsonRow(row);
+        if (product == null || !validator.validate(product).isEmpty()) {
+            log.debug("Import row {} is skipped.", rowCount);
+            skippedCount++;
+            return null;
+        }
+        return product;
+    }
+
+    private ProductReqDTO parseNdjsonRow(String row) {
+        try {
+            return productReader.readValue(row);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private ProductReqDTO parseCsvRow(String row) {
+        try {
+            List<String> values = CsvUtils.parseRecord(row);
+            Integer availableColumn = csvColumns.get(AVAILABLE_COLUMN);
+            String available = availableColumn == null ? "" : getValue(values, availableColumn).trim();
+            if (!available.isEmpty() && !"true".equalsIgnoreCase(available) && !"false".equalsIgnoreCase(available)) {
+                return null;
+            }
+
+            String priceEur = getValue(values, csvColumns.get(PRICE_EUR_COLUMN)).trim();
+            return new ProductReqDTO(
+                    getValue(values, csvColumns.get(CODE_COLUMN)),
+                    getValue(values, csvColumns.get(NAME_COLUMN)),
+                    priceEur.isEmpty() ? null : new BigDecimal(priceEur),
+                    Boolean.parseBoolean(available)
+            );
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private String getValue(List<String> values, int column) {
+        return column < values.size() ? values.get(column) : "";
+    }
+
+    private String readRow() {
+        try {
+            return format == CatalogFormat.CSV ? readCsvRecord() : reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Product import was not completed.", e);
+        }
+    }
+
+    /**
+     * Reads lines until quotes of the record are balanced, so line breaks inside quoted values are kept.
+     */
+    private String readCsvRecord() throws IOException {
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+
+        StringBuilder record = new StringBuilder(line);
+        long quotes = line.chars().filter(character -> character == '"').count();
+        while (quotes % 2 != 0 && (line = reader.readLine()) != null) {
+            record.append('\n').append(line);
+            quotes += line.chars().filter(character -> character == '"').count();
+        }
+        return record.toString();
+    }
+
+    private Map<String, Integer> readCsvHeader() {
+        String header = readRow();
+        if (header == null) {
+            return Map.of();
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = CsvUtils.parseRecord(header);
+        for (int column = 0; column < names.size(); column++) {
+            columns.putIfAbsent(names.get(column).trim().toLowerCase(Locale.ROOT), column);
+        }
+
+        if (!columns.keySet().containsAll(List.of(CODE_COLUMN, NAME_COLUMN, PRICE_EUR_COLUMN))) {
+            throw new InvalidProductImportException(
+                    String.format("CSV header must contain %s, %s and %s columns.", CODE_COLUMN, NAME_COLUMN, PRICE_EUR_COLUMN)
+            );
+        }
+        return columns;
+    }
+
+}
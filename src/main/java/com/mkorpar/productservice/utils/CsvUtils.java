@@ -0,0 +1,84 @@
+package com.mkorpar.productservice.utils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 CSV support used by product export and import: comma separated values, values containing
+ * a separator, quote or line break are enclosed in quotes and quotes are escaped by doubling them.
+ */
+public final class CsvUtils {
+
+    public static final char SEPARATOR = ',';
+
+    private static final char QUOTE = '"';
+    private static final char LINE_FEED = '\n';
+    private static final char CARRIAGE_RETURN = '\r';
+
+    private CsvUtils() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    public static String escape(String value) {
+        if (value.indexOf(SEPARATOR) < 0 && value.indexOf(QUOTE) < 0
+                && value.indexOf(LINE_FEED) < 0 && value.indexOf(CARRIAGE_RETURN) < 0) {
+            return value;
+        }
+        return QUOTE + value.replace(String.valueOf(QUOTE), String.valueOf(QUOTE) + QUOTE) + QUOTE;
+    }
+
+    /**
+     * Formats a record as read by PostgreSQL COPY in CSV format, including the line break. Null is written as an empty
+     * unquoted value and an empty string as an empty quoted value, which COPY reads as NULL and empty string.
+     * Decimals are written without exponent.
+     */
+    public static String formatCopyRecord(Object... values) {
+        StringBuilder record = new StringBuilder();
+        for (int index = 0; index < values.length; index++) {
+            if (index > 0) {
+                record.append(SEPARATOR);
+            }
+            Object value = values[index];
+            if (value instanceof BigDecimal decimal) {
+                record.append(decimal.toPlainString());
+            } else if (value != null) {
+                String text = value.toString();
+                record.append(text.isEmpty() ? String.valueOf(QUOTE) + QUOTE : escape(text));
+            }
+        }
+        return record.append(LINE_FEED).toString();
+    }
+
+    /**
+     * Parses values of a single record, the record may contain line breaks inside quoted values.
+     */
+    public static List<String> parseRecord(String record) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int index = 0; index < record.length(); index++) {
+            char character = record.charAt(index);
+            if (quoted) {
+                if (character != QUOTE) {
+                    value.append(character);
+                } else if (index + 1 < record.length() && record.charAt(index + 1) == QUOTE) {
+                    value.append(QUOTE);
+                    index++;
+                } else {
+                    quoted = false;
+                }
+            } else if (character == QUOTE) {
+                quoted = true;
+            } else if (character == SEPARATOR) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else if (character != CARRIAGE_RETURN) {
+                value.append(character);
+            }
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+}
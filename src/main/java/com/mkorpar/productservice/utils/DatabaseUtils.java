@@ -0,0 +1,24 @@
+package com.mkorpar.productservice.utils;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public final class DatabaseUtils {
+
+    private static final String POSTGRESQL = "PostgreSQL";
+
+    private DatabaseUtils() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Checks the database product name of a connection, meant to be called once when a service is created,
+     * so vendor specific queries do not check the database again.
+     */
+    public static boolean isPostgreSql(JdbcTemplate jdbcTemplate) {
+        return POSTGRESQL.equals(jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()
+        ));
+    }
+
+}
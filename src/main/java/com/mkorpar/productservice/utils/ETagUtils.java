@@ -0,0 +1,36 @@
+package com.mkorpar.productservice.utils;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+public final class ETagUtils {
+
+    private static final String SEPARATOR = "|";
+    private static final String GZIP_SUFFIX = "-gzip";
+
+    private ETagUtils() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Builds a strong ETag (quoted MD5 hex digest) of the given parts, which have to determine the representation.
+     */
+    public static String strongETag(Object... parts) {
+        String value = Arrays.stream(parts)
+                .map(String::valueOf)
+                .collect(Collectors.joining(SEPARATOR));
+        return '"' + DigestUtils.md5DigestAsHex(value.getBytes(StandardCharsets.UTF_8)) + '"';
+    }
+
+    /**
+     * Builds the ETag of the gzip encoded representation from the strong ETag of the identity representation,
+     * since both representations are not byte-for-byte identical.
+     */
+    public static String gzipETag(String eTag) {
+        return eTag.substring(0, eTag.length() - 1) + GZIP_SUFFIX + '"';
+    }
+
+}
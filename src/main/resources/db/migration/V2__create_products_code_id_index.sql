@@ -0,0 +1 @@
+create index if not exists products_code_id_idx on products (code, id);
@@ -0,0 +1,6 @@
+create table if not exists exchange_rates (
+    currency varchar(3) not null,
+    rate_date date not null,
+    rate numeric(19,6) not null,
+    primary key (currency, rate_date)
+)
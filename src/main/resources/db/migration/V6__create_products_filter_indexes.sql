@@ -0,0 +1,4 @@
+-- Serve list filters on availability and EUR price range, USD bounds are converted to EUR bounds before querying.
+-- Availability filter (with or without price range) uses the composite index, price range alone the price index.
+create index if not exists products_available_price_eur_id_idx on products (available, price_eur, id);
+create index if not exists products_price_eur_id_idx on products (price_eur, id);
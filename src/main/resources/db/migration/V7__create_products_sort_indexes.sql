@@ -0,0 +1,3 @@
+-- Sorting by name is served by an index, code and price sorting use products_code_id_idx and products_price_eur_id_idx.
+-- Every sort index ends with id, which is the tie-breaker of all sorts.
+create index if not exists products_name_id_idx on products (name, id);
@@ -0,0 +1,14 @@
+-- Every product write stores a value of the change sequence, existing products are placed at the start of the feed.
+alter table products add column if not exists change_seq bigint not null default 0;
+
+create index if not exists products_change_seq_id_idx on products (change_seq, id);
+
+-- Values are allocated from a counter row rather than a sequence, sequence values are not allocated in the order
+-- of commits, so a change feed consumer could resume past a change committed later.
+create table if not exists products_change_counter (
+    id integer not null,
+    change_seq bigint not null,
+    primary key (id)
+);
+
+insert into products_change_counter (id, change_seq) values (1, 0);
@@ -0,0 +1,2 @@
+-- Counter row of the product change sequence, inserted into the schema generated by Hibernate (test profile).
+insert into products_change_counter (id, change_seq) values (1, 0);
@@ -3,12 +3,15 @@ package com.mkorpar.productservice.clients;
 import com.mkorpar.productservice.clients.impl.DefaultExchangeRateApiClient;
 import com.mkorpar.productservice.config.ProductServiceConfiguration;
 import com.mkorpar.productservice.data.api.ExchangeRateApiResponse;
-import com.mkorpar.productservice.clients.enums.ExchangeRateCurrency;
 import com.mkorpar.productservice.exceptions.ExchangeRateUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.client.RestClientTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
@@ -22,6 +25,7 @@ import java.net.URI;
 import java.text.NumberFormat;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
 import java.util.stream.Collectors;
 
@@ -31,10 +35,11 @@ import static org.springframework.test.web.client.match.MockRestRequestMatchers.
 import static org.springframework.test.web.client.response.MockRestResponseCreators.*;
 
 @ActiveProfiles("test")
+@Import(SimpleMeterRegistry.class)
 @RestClientTest(value = {DefaultExchangeRateApiClient.class, ProductServiceConfiguration.class})
 class DefaultExchangeRateApiClientTest {
 
-    private static final ExchangeRateCurrency CURRENCY = ExchangeRateCurrency.USD;
+    private static final String CURRENCY = "USD";
     private static final LocalDate DATE = LocalDate.of(2025, 1, 1);
 
     @Autowired
@@ -43,9 +48,17 @@ class DefaultExchangeRateApiClientTest {
     @Autowired
     private MockRestServiceServer server;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Value("${exchange.rate.api.url.template}")
     private String urlTemplate;
 
+    @AfterEach
+    void tearDown() {
+        meterRegistry.clear();
+    }
+
     @Test
     void shouldReturnResponseBodyWithExchangeRateOnSuccessfulRequest() {
         // Arrange
@@ -53,10 +66,12 @@ class DefaultExchangeRateApiClientTest {
         setupRestServiceServer(withSuccess(getResponseBody(expectedRate), MediaType.APPLICATION_JSON));
 
         // Act
-        ExchangeRateApiResponse response = apiClient.getExchangeRateAgainstEuro(CURRENCY, DATE);
+        List<ExchangeRateApiResponse> response = apiClient.getExchangeRatesAgainstEuro(DATE);
 
         // Assert
-        assertThat(response.getMiddleRate()).isEqualTo(expectedRate);
+        assertThat(response)
+                .extracting(ExchangeRateApiResponse::getCurrency, ExchangeRateApiResponse::getMiddleRate)
+                .containsExactly(tuple(CURRENCY, expectedRate));
     }
 
     @Test
@@ -66,21 +81,25 @@ class DefaultExchangeRateApiClientTest {
 
         // Act && Assert
         assertThatExceptionOfType(ExchangeRateUnavailableException.class).isThrownBy(() ->
-            apiClient.getExchangeRateAgainstEuro(CURRENCY, DATE)
-        ).withMessageStartingWith("Exchange rate not sent");
+            apiClient.getExchangeRatesAgainstEuro(DATE)
+        ).withMessageStartingWith("Exchange rates not sent");
     }
 
     @Test
-    void shouldThrowsExceptionOn200ResponseAndMultipleExchangeRates() {
+    void shouldReturnAllExchangeRatesOfTheDailyListWithSingleRequest() {
         // Arrange
         BigDecimal firstRate = BigDecimal.valueOf(1.01234);
         BigDecimal secondRate = BigDecimal.valueOf(1.02456);
         setupRestServiceServer(withSuccess(getResponseBody(firstRate, secondRate), MediaType.APPLICATION_JSON));
 
-        // Act && Assert
-        assertThatExceptionOfType(ExchangeRateUnavailableException.class).isThrownBy(() ->
-                apiClient.getExchangeRateAgainstEuro(CURRENCY, DATE)
-        ).withMessageStartingWith("Multiple exchange rates sent");
+        // Act
+        List<ExchangeRateApiResponse> response = apiClient.getExchangeRatesAgainstEuro(DATE);
+
+        // Assert
+        assertThat(response)
+                .extracting(ExchangeRateApiResponse::getMiddleRate)
+                .containsExactly(firstRate, secondRate);
+        server.verify();
     }
 
     @Test
@@ -90,8 +109,24 @@ class DefaultExchangeRateApiClientTest {
 
         // Act && Assert
         assertThatExceptionOfType(ExchangeRateUnavailableException.class).isThrownBy(() ->
-                apiClient.getExchangeRateAgainstEuro(CURRENCY, DATE)
-        ).withMessageStartingWith("Failed to fetch exchange rate for currency");
+                apiClient.getExchangeRatesAgainstEuro(DATE)
+        ).withMessageStartingWith("Failed to fetch exchange rates");
+    }
+
+    @Test
+    void shouldTimeRequestsByOutcome() {
+        // Arrange
+        setupRestServiceServer(withServerError());
+
+        // Act
+        catchThrowable(() -> apiClient.getExchangeRatesAgainstEuro(DATE));
+        catchThrowable(() -> apiClient.getExchangeRatesAgainstEuro(DATE));
+
+        // Assert
+        assertThat(meterRegistry.get(DefaultExchangeRateApiClient.REQUESTS_METRIC).tag("outcome", "unavailable").timer().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.find(DefaultExchangeRateApiClient.REQUESTS_METRIC).tag("outcome", "success").timer())
+                .isNull();
     }
 
     private String getResponseBody(BigDecimal... exchangeRates) {
@@ -101,8 +136,8 @@ class DefaultExchangeRateApiClientTest {
 
         String exchangesRates = Arrays.stream(exchangeRates).map(
                 exchangeRate -> String.format("""
-                        {"srednji_tecaj":"%s"}
-                        """, numberFormat.format(exchangeRate)
+                        {"valuta":"%s","srednji_tecaj":"%s"}
+                        """, CURRENCY, numberFormat.format(exchangeRate)
                 ).trim()
         ).collect(Collectors.joining(","));
 
@@ -110,7 +145,7 @@ class DefaultExchangeRateApiClientTest {
     }
 
     private void setupRestServiceServer(DefaultResponseCreator responseCreator) {
-        server.expect(ExpectedCount.manyTimes(), requestTo(getRequestURI(urlTemplate, CURRENCY, DATE)))
+        server.expect(ExpectedCount.manyTimes(), requestTo(getRequestURI(urlTemplate, DATE)))
                 .andExpect(method(HttpMethod.GET))
                 .andRespond(responseCreator);
     }
@@ -0,0 +1,41 @@
+package com.mkorpar.productservice.config;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetricsConfigurationTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void shouldCountCircuitBreakerStateTransitions() {
+        // Arrange
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(
+                CircuitBreakerConfig.ofDefaults(),
+                new MetricsConfiguration().circuitBreakerTransitionsConsumer(meterRegistry)
+        );
+        CircuitBreaker circuitBreaker = registry.circuitBreaker("exchangeRateApiClient");
+
+        // Act
+        circuitBreaker.transitionToOpenState();
+        circuitBreaker.transitionToHalfOpenState();
+        circuitBreaker.transitionToOpenState();
+
+        // Assert
+        assertThat(meterRegistry.get(MetricsConfiguration.CIRCUIT_BREAKER_TRANSITIONS_METRIC)
+                .tags("name", "exchangeRateApiClient", "from", "closed", "to", "open")
+                .counter()
+                .count()).isEqualTo(1);
+        assertThat(meterRegistry.get(MetricsConfiguration.CIRCUIT_BREAKER_TRANSITIONS_METRIC)
+                .tags("from", "half_open", "to", "open")
+                .counter()
+                .count()).isEqualTo(1);
+    }
+
+}
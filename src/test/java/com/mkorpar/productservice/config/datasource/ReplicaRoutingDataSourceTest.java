@@ -0,0 +1,156 @@
+package com.mkorpar.productservice.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final List<HikariDataSource> dataSources = new ArrayList<>();
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate readWriteTransaction;
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWritesContext.close();
+        dataSources.forEach(HikariDataSource::close);
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionsToReplicasInTurns_WhenRoundRobinSelectionIsUsed() {
+        // Arrange
+        createRoutingDataSource(ReplicaSelection.ROUND_ROBIN, Duration.ZERO);
+
+        // Act
+        List<String> databases = List.of(readDatabase(), readDatabase(), readDatabase());
+
+        // Assert
+        assertThat(databases).containsExactly("REPLICA0", "REPLICA1", "REPLICA0");
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionToReplica_WhenLeastConnectionsSelectionIsUsed() {
+        // Arrange
+        createRoutingDataSource(ReplicaSelection.LEAST_CONNECTIONS, Duration.ZERO);
+
+        // Act
+        String database = readDatabase();
+
+        // Assert
+        assertThat(database).startsWith("REPLICA");
+    }
+
+    @Test
+    void shouldRouteReadWriteTransactionAndQueryWithoutTransactionToPrimary() {
+        // Arrange
+        createRoutingDataSource(ReplicaSelection.ROUND_ROBIN, Duration.ZERO);
+
+        // Act
+        String transactionDatabase = readWriteTransaction.execute(status -> queryDatabase());
+        String database = queryDatabase();
+
+        // Assert
+        assertThat(transactionDatabase).isEqualTo("PRIMARY");
+        assertThat(database).isEqualTo("PRIMARY");
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionToPrimary_WhenWriteOfCallerWasCommittedWithinReadYourWritesWindow() {
+        // Arrange
+        createRoutingDataSource(ReplicaSelection.ROUND_ROBIN, Duration.ofMinutes(1));
+        List<Instant> sentWriteCommits = new ArrayList<>();
+        ReadYourWritesContext.open(null, sentWriteCommits::add);
+        String databaseBeforeWrite = readDatabase();
+
+        // Act
+        readWriteTransaction.executeWithoutResult(status -> queryDatabase());
+        String databaseAfterWrite = readDatabase();
+
+        // Assert
+        assertThat(databaseBeforeWrite).isEqualTo("REPLICA0");
+        assertThat(databaseAfterWrite).isEqualTo("PRIMARY");
+        assertThat(sentWriteCommits).hasSize(1);
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionToReplica_WhenWriteOfOtherCallerWasCommittedWithinReadYourWritesWindow() {
+        // Arrange
+        createRoutingDataSource(ReplicaSelection.ROUND_ROBIN, Duration.ofMinutes(1));
+        ReadYourWritesContext.open(null, writeCommit -> { });
+        readWriteTransaction.executeWithoutResult(status -> queryDatabase());
+        ReadYourWritesContext.close();
+
+        // Act
+        ReadYourWritesContext.open(null, writeCommit -> { });
+        String otherCallerDatabase = readDatabase();
+        ReadYourWritesContext.close();
+        String databaseWithoutCaller = readDatabase();
+
+        // Assert
+        assertThat(otherCallerDatabase).isEqualTo("REPLICA0");
+        assertThat(databaseWithoutCaller).isEqualTo("REPLICA1");
+    }
+
+    @Test
+    void shouldRouteReadOnlyTransactionToPrimary_WhenCallerSendsWriteCommitWithinReadYourWritesWindow() {
+        // Arrange
+        createRoutingDataSource(ReplicaSelection.ROUND_ROBIN, Duration.ofMinutes(1));
+
+        // Act
+        ReadYourWritesContext.open(Instant.now().minusSeconds(30), writeCommit -> { });
+        String recentWriteDatabase = readDatabase();
+        ReadYourWritesContext.open(Instant.now().minusSeconds(90), writeCommit -> { });
+        String expiredWriteDatabase = readDatabase();
+
+        // Assert
+        assertThat(recentWriteDatabase).isEqualTo("PRIMARY");
+        assertThat(expiredWriteDatabase).isEqualTo("REPLICA0");
+    }
+
+    private void createRoutingDataSource(ReplicaSelection selection, Duration readYourWritesWindow) {
+        ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(
+                createDataSource("primary"),
+                List.of(createDataSource("replica0"), createDataSource("replica1")),
+                selection,
+                readYourWritesWindow,
+                Clock.systemUTC()
+        );
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    private HikariDataSource createDataSource(String database) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1");
+        dataSources.add(dataSource);
+        return dataSource;
+    }
+
+    private String readDatabase() {
+        return readOnlyTransaction.execute(status -> queryDatabase());
+    }
+
+    private String queryDatabase() {
+        return jdbcTemplate.queryForObject("select database()", String.class);
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.mkorpar.productservice.config.datasource;
+
+import com.mkorpar.productservice.clients.ExchangeRateApiClient;
+import com.mkorpar.productservice.services.ProductSuggestionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.servlet.http.Cookie;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Primary and replica are separate in-memory databases, so the database name shows where a query was routed.
+ * The product suggestion index is built with a read-only transaction on startup and the replica has no schema,
+ * so the suggestion service is mocked.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1",
+        "datasource.replica.urls=jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1",
+        "datasource.replica.read.your.writes.window=1m"
+})
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@Import(ReplicaRoutingIntegrationTest.RoutingController.class)
+class ReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockitoBean
+    private ExchangeRateApiClient exchangeRateApiClient;
+
+    @MockitoBean
+    private ProductSuggestionService productSuggestionService;
+
+    @Test
+    void shouldRouteWriteToPrimary_WhenItFollowsReadOnlyTransactionInSameRequest() throws Exception {
+        // Act && Assert
+        mockMvc.perform(post("/routing"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("ROUTING_REPLICA"))
+                .andExpect(jsonPath("$[1]").value("ROUTING_PRIMARY"));
+    }
+
+    @Test
+    void shouldRouteReadsToPrimaryOnlyForCallerWhoseWriteIsWithinReadYourWritesWindow() throws Exception {
+        // Arrange
+        Cookie lastWriteCookie = mockMvc.perform(post("/routing"))
+                .andExpect(status().isOk())
+                .andExpect(cookie().maxAge(ReadYourWritesFilter.LAST_WRITE_COOKIE, 60))
+                .andReturn()
+                .getResponse()
+                .getCookie(ReadYourWritesFilter.LAST_WRITE_COOKIE);
+
+        // Act && Assert
+        mockMvc.perform(get("/routing").cookie(lastWriteCookie))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("ROUTING_PRIMARY"));
+        mockMvc.perform(get("/routing"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("ROUTING_REPLICA"));
+    }
+
+    @Test
+    void shouldBindReplicaPoolMetrics() throws Exception {
+        // Arrange
+        mockMvc.perform(post("/routing"));
+
+        // Act
+        var activeConnections = meterRegistry.find("hikaricp.connections.active").tag("pool", "replica-0").gauge();
+
+        // Assert
+        assertThat(activeConnections).isNotNull();
+    }
+
+    @RestController
+    @RequiredArgsConstructor
+    static class RoutingController {
+
+        private final EntityManager entityManager;
+        private final PlatformTransactionManager transactionManager;
+
+        @GetMapping("/routing")
+        List<String> read() {
+            String readDatabase = readOnlyTransaction().execute(status -> getDatabase());
+            return List.of(readDatabase);
+        }
+
+        @PostMapping("/routing")
+        List<String> readThenWrite() {
+            String readDatabase = readOnlyTransaction().execute(status -> getDatabase());
+            String writeDatabase = new TransactionTemplate(transactionManager).execute(status -> getDatabase());
+            return List.of(readDatabase, writeDatabase);
+        }
+
+        private TransactionTemplate readOnlyTransaction() {
+            TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+            readOnlyTransaction.setReadOnly(true);
+            return readOnlyTransaction;
+        }
+
+        private String getDatabase() {
+            return (String) entityManager.createNativeQuery("select database()").getSingleResult();
+        }
+
+    }
+
+}
@@ -1,21 +1,51 @@
 package com.mkorpar.productservice.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mkorpar.productservice.clients.enums.ExchangeRateCurrency;
 import com.mkorpar.productservice.data.dtos.PageResDTO;
+import com.mkorpar.productservice.data.dtos.ProductBatchItemResDTO;
+import com.mkorpar.productservice.data.dtos.ProductBatchResDTO;
+import com.mkorpar.productservice.data.dtos.ProductChangesResDTO;
+import com.mkorpar.productservice.data.dtos.ProductImportResDTO;
+import com.mkorpar.productservice.data.dtos.ProductPatchReqDTO;
 import com.mkorpar.productservice.data.dtos.ProductReqDTO;
 import com.mkorpar.productservice.data.dtos.ProductResDTO;
+import com.mkorpar.productservice.data.dtos.ProductSuggestionIndexResDTO;
+import com.mkorpar.productservice.data.dtos.ProductSuggestionResDTO;
+import com.mkorpar.productservice.data.enums.CatalogFormat;
+import com.mkorpar.productservice.data.enums.CountMode;
+import com.mkorpar.productservice.data.models.ConditionalResult;
+import com.mkorpar.productservice.data.models.EncodedResponse;
+import com.mkorpar.productservice.data.models.ProductFilter;
+import com.mkorpar.productservice.exceptions.ProductVersionConflictException;
+import com.mkorpar.productservice.mappers.ValidationErrorMapper;
+import com.mkorpar.productservice.services.ProductExportService;
+import com.mkorpar.productservice.services.ProductImportService;
 import com.mkorpar.productservice.services.ProductService;
+import com.mkorpar.productservice.services.ProductSuggestionService;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.endsWith;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -23,18 +53,21 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ProductController.class)
+@Import(ValidationErrorMapper.class)
 class ProductControllerTest {
 
     private static final String ENDPOINT = "/api/v1/products";
+    private static final String ETAG = "\"etag\"";
+    private static final String GZIP_ETAG = "\"etag-gzip\"";
 
     private static final ProductReqDTO productReqDTO = new ProductReqDTO(
             "PRODUCT001", "Product A", new BigDecimal("10.00"), true
     );
     private static final ProductResDTO productResDTO = new ProductResDTO(
-            "PRODUCT001", "Product A", new BigDecimal("10.00"), new BigDecimal("11.00"), false
+            "PRODUCT001", "Product A", new BigDecimal("10.00"), new BigDecimal("11.00"), false, LocalDate.of(2025, 1, 1), 0, null
     );
     private static final ProductResDTO secondProductResDTO = new ProductResDTO(
-            "PRODUCT002", "Product B", new BigDecimal("20.00"), new BigDecimal("22.00"), true
+            "PRODUCT002", "Product B", new BigDecimal("20.00"), new BigDecimal("22.00"), true, LocalDate.of(2025, 1, 1), 0, null
     );
 
     @Autowired
@@ -46,6 +79,15 @@ class ProductControllerTest {
     @MockitoBean
     private ProductService productService;
 
+    @MockitoBean
+    private ProductExportService productExportService;
+
+    @MockitoBean
+    private ProductImportService productImportService;
+
+    @MockitoBean
+    private ProductSuggestionService productSuggestionService;
+
     @Test
     void shouldCreateProductSuccessfully() throws Exception {
         // Arrange
@@ -60,27 +102,167 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.code").value(productReqDTO.getCode()));
     }
 
+    @Test
+    void shouldCreateProductsInBatch() throws Exception {
+        // Arrange
+        ProductBatchResDTO batchResDTO = ProductBatchResDTO.from(List.of(
+                ProductBatchItemResDTO.created(0, productResDTO),
+                ProductBatchItemResDTO.duplicate(1, productResDTO.getCode())
+        ));
+        Mockito.when(productService.createProducts(any())).thenReturn(batchResDTO);
+
+        // Act && Assert
+        mockMvc.perform(post(ENDPOINT + "/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(productReqDTO, productReqDTO))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.items.[0].status").value("created"))
+                .andExpect(jsonPath("$.items.[1].status").value("duplicate"));
+    }
+
+    @Test
+    void shouldUpdateProduct() throws Exception {
+        // Arrange
+        ProductPatchReqDTO patch = new ProductPatchReqDTO(null, new BigDecimal("12.00"), null, 0L);
+        Mockito.when(productService.updateProduct(productResDTO.getCode(), patch)).thenReturn(productResDTO);
+
+        // Act && Assert
+        mockMvc.perform(patch(ENDPOINT + "/{code}", productResDTO.getCode())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(patch)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(productResDTO.getCode()))
+                .andExpect(jsonPath("$.version").value(0));
+    }
+
+    @Test
+    void shouldReturn409_whenUpdatedVersionIsNotCurrent() throws Exception {
+        // Arrange
+        Mockito.when(productService.updateProduct(any(), any()))
+                .thenThrow(new ProductVersionConflictException("Version is not current"));
+
+        // Act && Assert
+        mockMvc.perform(patch(ENDPOINT + "/{code}", productResDTO.getCode())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"available\": true, \"version\": 0}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value(ProductVersionConflictException.class.getSimpleName()));
+    }
+
+    @Test
+    void shouldReturn400_whenUpdateVersionIsMissing() throws Exception {
+        // Act && Assert
+        mockMvc.perform(patch(ENDPOINT + "/{code}", productResDTO.getCode())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \" \"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.length()").value(2));
+    }
+
+    @Test
+    void shouldReturn400_whenUpdateSendsOnlyVersion() throws Exception {
+        // Act && Assert
+        mockMvc.perform(patch(ENDPOINT + "/{code}", productResDTO.getCode())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"version\": 0}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.length()").value(1));
+        Mockito.verifyNoInteractions(productService);
+    }
+
     @Test
     void shouldGetProductByCode() throws Exception {
         // Arrange
         String code = productReqDTO.getCode();
-        Mockito.when(productService.getProduct(eq(code))).thenReturn(productResDTO);
+        Mockito.when(productService.getConditionalEncodedProduct(eq(code), eq(Set.of()))).thenReturn(conditional(encode(productResDTO)));
 
         // Act && Assert
         mockMvc.perform(get(ENDPOINT + "/{code}", code))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.code").value(code))
-                .andExpect(jsonPath("$.name").value(productReqDTO.getName()));
+                .andExpect(jsonPath("$.name").value(productReqDTO.getName()))
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG));
+    }
+
+    @Test
+    void shouldReturn304WithoutMappingBody_whenETagMatchesIfNoneMatchHeader() throws Exception {
+        // Arrange
+        String code = productReqDTO.getCode();
+        Supplier<EncodedResponse> body = Mockito.mock();
+        Mockito.when(productService.getConditionalEncodedProduct(eq(code), eq(Set.of())))
+                .thenReturn(new ConditionalResult<>(ETAG, body));
+
+        // Act && Assert
+        mockMvc.perform(get(ENDPOINT + "/{code}", code).header(HttpHeaders.IF_NONE_MATCH, ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(content().string(""));
+        Mockito.verifyNoInteractions(body);
+    }
+
+    @Test
+    void shouldSendGzipBody_whenClientAcceptsGzipEncoding() throws Exception {
+        // Arrange
+        String code = productReqDTO.getCode();
+        byte[] body = objectMapper.writeValueAsBytes(productResDTO);
+        byte[] gzipBody = {31, -117, 8, 0};
+        Mockito.when(productService.getConditionalEncodedProduct(eq(code), eq(Set.of())))
+                .thenReturn(conditional(new EncodedResponse(body, gzipBody)));
+
+        // Act && Assert
+        mockMvc.perform(get(ENDPOINT + "/{code}", code).header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(header().stringValues(HttpHeaders.ETAG, GZIP_ETAG))
+                .andExpect(content().bytes(gzipBody));
+        mockMvc.perform(get(ENDPOINT + "/{code}", code).header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().stringValues(HttpHeaders.ETAG, ETAG))
+                .andExpect(content().bytes(body));
+    }
+
+    @Test
+    void shouldReturn304_whenGzipETagMatchesIfNoneMatchHeader() throws Exception {
+        // Arrange
+        String code = productReqDTO.getCode();
+        Supplier<EncodedResponse> body = Mockito.mock();
+        Mockito.when(productService.getConditionalEncodedProduct(eq(code), eq(Set.of())))
+                .thenReturn(new ConditionalResult<>(ETAG, body));
+
+        // Act && Assert
+        mockMvc.perform(get(ENDPOINT + "/{code}", code)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "identity")
+                        .header(HttpHeaders.IF_NONE_MATCH, GZIP_ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, GZIP_ETAG));
+        Mockito.verifyNoInteractions(body);
+    }
+
+    @Test
+    void shouldReturn200_whenETagDoesNotMatchIfNoneMatchHeader() throws Exception {
+        // Arrange
+        Mockito.when(productService.getConditionalProducts(any(), eq(CountMode.EXACT), eq(ProductFilter.none()), eq(Set.of())))
+                .thenReturn(conditional(PageResDTO.<ProductResDTO>builder().content(List.of(productResDTO)).build()));
+
+        // Act && Assert
+        mockMvc.perform(get(ENDPOINT).header(HttpHeaders.IF_NONE_MATCH, "\"outdated\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+                .andExpect(jsonPath("$.content.[0].code").value(productResDTO.getCode()));
     }
 
     @Test
     void shouldGetAllProducts() throws Exception {
         // Arrange
         List<ProductResDTO> products = List.of(productResDTO, secondProductResDTO);
-        Mockito.when(productService.getAllProducts(any())).thenReturn(PageResDTO.<ProductResDTO>builder()
+        Mockito.when(productService.getConditionalProducts(any(), eq(CountMode.EXACT), eq(ProductFilter.none()), eq(Set.of()))).thenReturn(conditional(PageResDTO.<ProductResDTO>builder()
                 .content(products)
                 .build()
-        );
+        ));
 
         // Act && Assert
         mockMvc.perform(get(ENDPOINT))
@@ -89,6 +271,239 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$.content.[1].code").value(products.getLast().getCode()));
     }
 
+    @Test
+    void shouldGetAllProductsWithCursor() throws Exception {
+        // Arrange
+        String cursor = "Y29kZTpBU0M6MTpQUk9EVUNUMDAx";
+        Mockito.when(productService.getConditionalProducts(eq(cursor), any(), eq(ProductFilter.none()), eq(Set.of()))).thenReturn(conditional(PageResDTO.<ProductResDTO>builder()
+                .content(List.of(secondProductResDTO))
+                .last(true)
+                .build()
+        ));
+
+        // Act && Assert
+        mockMvc.perform(get(ENDPOINT).param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.[0].code").value(secondProductResDTO.getCode()))
+                .andExpect(jsonPath("$.next_cursor").doesNotExist());
+        Mockito.verify(productService, Mockito.never()).getConditionalProducts(any(Pageable.class), any(CountMode.class), any(), any());
+    }
+
+    @Test
+    void shouldGetAllProductsWithoutCount() throws Exception {
+        // Arrange
+        Mockito.when(productService.getConditionalProducts(any(), eq(CountMode.NONE), eq(ProductFilter.none()), eq(Set.of()))).thenReturn(conditional(PageResDTO.<ProductResDTO>builder()
+                .content(List.of(productResDTO))
+                .countMode(CountMode.NONE)
+                .build()
+        ));
+
+        // Act && Assert
+        mockMvc.perform(get(ENDPOINT).param("count", "none"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.[0].code").value(productResDTO.getCode()))
+                .andExpect(jsonPath("$.count_mode").value("none"));
+    }
+
+    @Test
+    void shouldGetProductByCodeWithPricesInRequestedCurrencies() throws Exception {
+        // Arrange
+        String code = productReqDTO.getCode();
+        ProductResDTO productWithPrices = new ProductResDTO(
+                code, "Product A", new BigDecimal("10.00"), new BigDecimal("11.00"), false, LocalDate.of(2025, 1, 1), 0,
+                Map.of(ExchangeRateCurrency.CHF, new BigDecimal("9.40"))
+        );
+        Mockito.when(productService.getConditionalEncodedProduct(eq(code), eq(Set.of(ExchangeRateCurrency.CHF, ExchangeRateCurrency.GBP))))
+                .thenReturn(conditional(encode(productWithPrices)));
+
+        // Act && Assert
+        mockMvc.perform(get(ENDPOINT + "/{code}", code).param("currency", "CHF,GBP"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.prices.CHF").value(9.40));
+    }
+
+    @Test
+    void shouldGetProductByCodeWithPricesInRequestedCurrencies_whenCurrencyCodesAreNotUpperCase() throws Exception {
+        // Arrange
+        String code = productReqDTO.getCode();
+        Mockito.when(productService.getConditionalEncodedProduct(eq(code), eq(Set.of(ExchangeRateCurrency.CHF, ExchangeRateCurrency.GBP))))
+                .thenReturn(conditional(encode(productResDTO)));
+
+        // Act && Assert
+        mockMvc.perform(get(ENDPOINT + "/{code}", code).param("currency", "chf, Gbp"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldReturn400_whenCurrencyIsInvalid() throws Exception {
+        // Act && Assert
+        mockMvc.perform(get(ENDPOINT).param("currency", "XXX"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldStreamExportedProductsInRequestedFormat() throws Exception {
+        // Arrange
+        String csv = "code,name,price_eur,price_usd,available,exchange_rate_date\n";
+        Mockito.doAnswer(invocation -> {
+            invocation.getArgument(2, OutputStream.class).write(csv.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(productExportService).exportProducts(eq(CatalogFormat.CSV), eq(Set.of()), any());
+
+        // Act
+        MvcResult result = mockMvc.perform(get(ENDPOINT + "/export").param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofHours(1).toMillis());
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"products.csv\""))
+                .andExpect(content().string(csv));
+    }
+
+    @Test
+    void shouldReturn400_whenCatalogFormatIsInvalid() throws Exception {
+        // Act && Assert
+        mockMvc.perform(get(ENDPOINT + "/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldImportProductsInFormatOfContentType() throws Exception {
+        // Arrange
+        Mockito.when(productImportService.importProducts(eq(CatalogFormat.CSV), eq(StandardCharsets.UTF_8), any()))
+                .thenReturn(new ProductImportResDTO(1, 0, 0));
+
+        // Act && Assert
+        mockMvc.perform(post(ENDPOINT + "/import")
+                        .contentType("text/csv")
+                        .content("code,name,price_eur\nPRODUCT001,Product A,10.00\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(1))
+                .andExpect(jsonPath("$.duplicate").value(0))
+                .andExpect(jsonPath("$.skipped").value(0));
+    }
+
+    @Test
+    void shouldImportProductsInCharsetOfContentType() throws Exception {
+        // Arrange
+        byte[] content = "code,name,price_eur\nPRODUCT001,Caf\u00e9 cup,10.00\n".getBytes(StandardCharsets.ISO_8859_1);
+        Mockito.when(productImportService.importProducts(eq(CatalogFormat.CSV), eq(StandardCharsets.ISO_8859_1), any()))
+                .thenReturn(new ProductImportResDTO(1, 0, 0));
+
+        // Act && Assert
+        mockMvc.perform(post(ENDPOINT + "/import")
+                        .contentType("text/csv;charset=ISO-8859-1")
+                        .content(content))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inserted").value(1));
+    }
+
+    @Test
+    void shouldReturn415_whenImportContentTypeIsNotSupported() throws Exception {
+        // Act && Assert
+        mockMvc.perform(post(ENDPOINT + "/import")
+                        .contentType(MediaType.APPLICATION_XML)
+                        .content("<products/>"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
+    @Test
+    void shouldGetFilteredProducts() throws Exception {
+        // Arrange
+        ProductFilter filter = new ProductFilter(
+                true, new BigDecimal("10.00"), new BigDecimal("20.00"), null, new BigDecimal("25")
+        );
+        Mockito.when(productService.getConditionalProducts(any(), eq(CountMode.EXACT), eq(filter), eq(Set.of())))
+                .thenReturn(conditional(PageResDTO.<ProductResDTO>builder().content(List.of(productResDTO)).build()));
+
+        // Act && Assert
+        mockMvc.perform(get(ENDPOINT)
+                        .param("available", "true")
+                        .param("price_eur_min", "10.00")
+                        .param("price_eur_max", "20.00")
+                        .param("price_usd_max", "25"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.[0].code").value(productResDTO.getCode()));
+    }
+
+    @Test
+    void shouldReturn400_whenPriceFilterIsNegative() throws Exception {
+        // Act && Assert
+        mockMvc.perform(get(ENDPOINT).param("price_usd_min", "-1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get(ENDPOINT).param("price_eur_max", "cheap"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldSuggestProductsByPrefix() throws Exception {
+        // Arrange
+        Mockito.when(productSuggestionService.suggestProducts("prod", 5))
+                .thenReturn(List.of(new ProductSuggestionResDTO(productResDTO.getCode(), productResDTO.getName())));
+
+        // Act && Assert
+        mockMvc.perform(get(ENDPOINT + "/suggest").param("prefix", " prod ").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[0].code").value(productResDTO.getCode()))
+                .andExpect(jsonPath("$.[0].name").value(productResDTO.getName()));
+    }
+
+    @Test
+    void shouldReturn400_whenSuggestionLimitIsInvalid() throws Exception {
+        // Act && Assert
+        mockMvc.perform(get(ENDPOINT + "/suggest").param("prefix", "prod").param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.[0].field").value("limit"));
+        mockMvc.perform(get(ENDPOINT + "/suggest").param("prefix", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldRebuildSuggestionIndex() throws Exception {
+        // Arrange
+        Mockito.when(productSuggestionService.rebuildIndex()).thenReturn(new ProductSuggestionIndexResDTO(2, 6, 1024));
+
+        // Act && Assert
+        mockMvc.perform(post(ENDPOINT + "/suggest/index"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products").value(2))
+                .andExpect(jsonPath("$.keys").value(6))
+                .andExpect(jsonPath("$.memory_bytes").value(1024));
+    }
+
+    @Test
+    void shouldGetProductChangesSinceToken() throws Exception {
+        // Arrange
+        Mockito.when(productService.getProductChanges("MTI6MzQ", 50))
+                .thenReturn(new ProductChangesResDTO(List.of(productResDTO), "MTM6MzU", false));
+
+        // Act && Assert
+        mockMvc.perform(get(ENDPOINT + "/changes").param("since", "MTI6MzQ").param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.[0].code").value(productResDTO.getCode()))
+                .andExpect(jsonPath("$.next_since").value("MTM6MzU"))
+                .andExpect(jsonPath("$.has_more").value(false));
+    }
+
+    @Test
+    void shouldReturn400_whenChangesLimitIsInvalid() throws Exception {
+        // Act && Assert
+        mockMvc.perform(get(ENDPOINT + "/changes").param("limit", "1001"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.[0].field").value("limit"));
+    }
+
+    @Test
+    void shouldReturn400_whenCountModeIsInvalid() throws Exception {
+        // Act && Assert
+        mockMvc.perform(get(ENDPOINT).param("count", "approximate"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldReturn400_whenProductCodeInPathIsInvalid() throws Exception {
         // Act && Assert
@@ -108,4 +523,12 @@ class ProductControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    private EncodedResponse encode(ProductResDTO product) throws Exception {
+        return new EncodedResponse(objectMapper.writeValueAsBytes(product), null);
+    }
+
+    private <T> ConditionalResult<T> conditional(T body) {
+        return new ConditionalResult<>(ETAG, () -> body);
+    }
+
 }
@@ -4,7 +4,9 @@ import com.mkorpar.productservice.data.rest.ErrorData;
 import com.mkorpar.productservice.data.rest.ValidationErrorData;
 import com.mkorpar.productservice.data.rest.ValidationErrorDataList;
 import com.mkorpar.productservice.exceptions.DuplicateProductCodeException;
+import com.mkorpar.productservice.exceptions.InvalidCursorException;
 import com.mkorpar.productservice.exceptions.ProductNotFoundException;
+import com.mkorpar.productservice.mappers.ValidationErrorMapper;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Path;
@@ -38,7 +40,7 @@ class GlobalExceptionHandlerTest {
     @BeforeEach
     void setUp() {
         when(jacksonProperties.getPropertyNamingStrategy()).thenReturn("SNAKE_CASE");
-        exceptionHandler = new GlobalExceptionHandler(jacksonProperties);
+        exceptionHandler = new GlobalExceptionHandler(new ValidationErrorMapper(jacksonProperties));
     }
 
     @Test
@@ -109,6 +111,18 @@ class GlobalExceptionHandlerTest {
         assertCustomExcepctionHandlerResponse(response, exception, HttpStatus.CONFLICT);
     }
 
+    @Test
+    void shouldReturnBadRequestStatus_WhenPaginationIsInvalid() {
+        // Arrange
+        InvalidCursorException exception = new InvalidCursorException("Cursor is not valid");
+
+        // Act
+        ResponseEntity<ErrorData> response = exceptionHandler.handleInvalidPaginationException(exception);
+
+        // Assert
+        assertCustomExcepctionHandlerResponse(response, exception, HttpStatus.BAD_REQUEST);
+    }
+
     private void assertViolationErrorResponse(ResponseEntity<ValidationErrorDataList> response, String fieldName, String message) {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
         assertThat(response.getBody())
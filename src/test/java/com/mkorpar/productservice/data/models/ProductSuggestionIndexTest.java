@@ -0,0 +1,87 @@
+package com.mkorpar.productservice.data.models;
+
+import com.mkorpar.productservice.data.dtos.ProductSuggestionResDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductSuggestionIndexTest {
+
+    private static final ProductSuggestionResDTO MOUSE = new ProductSuggestionResDTO("MOUSE00001", "Wireless mouse");
+    private static final ProductSuggestionResDTO MONITOR = new ProductSuggestionResDTO("MONITOR001", "Curved monitor");
+    private static final ProductSuggestionResDTO MOUSEPAD = new ProductSuggestionResDTO("MOUSEPAD01", "Mouse pad");
+    private static final ProductSuggestionResDTO HEADSET = new ProductSuggestionResDTO("HEADSET001", "Wireless headset");
+
+    @Test
+    void shouldSuggestProductsOfMainAndDeltaInKeyOrder_WhenDeltaIsNotFull() {
+        // Arrange
+        ProductSuggestionIndex index = ProductSuggestionIndex.build(List.of(MOUSE, MONITOR).iterator(), 10);
+
+        // Act
+        ProductSuggestionIndex addedIndex = index.withProducts(List.of(MOUSEPAD, HEADSET, MOUSE));
+
+        // Assert
+        assertThat(addedIndex.suggest("mo", 10)).containsExactly(MONITOR, MOUSE, MOUSEPAD);
+        assertThat(addedIndex.suggest("wireless", 10)).containsExactly(MOUSE, HEADSET);
+        assertThat(addedIndex.contains(MOUSEPAD.code())).isTrue();
+        assertThat(addedIndex.getProductCount()).isEqualTo(4);
+        assertThat(index.getProductCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldMergeDeltaIntoMainIndex_WhenDeltaHoldsMaxDeltaSizeOfProducts() {
+        // Arrange
+        ProductSuggestionIndex index = ProductSuggestionIndex.build(List.of(MOUSE, MONITOR).iterator(), 2);
+        ProductSuggestionIndex rebuiltIndex = ProductSuggestionIndex.build(
+                List.of(MOUSE, MONITOR, MOUSEPAD, HEADSET).iterator(), 2
+        );
+
+        // Act
+        ProductSuggestionIndex mergedIndex = index.withProducts(List.of(MOUSEPAD)).withProducts(List.of(HEADSET));
+
+        // Assert
+        assertThat(mergedIndex.suggest("mo", 10)).containsExactly(MONITOR, MOUSE, MOUSEPAD);
+        assertThat(mergedIndex.getKeyCount()).isEqualTo(rebuiltIndex.getKeyCount());
+        assertThat(mergedIndex.getMemoryBytes()).isEqualTo(rebuiltIndex.getMemoryBytes());
+    }
+
+    @Test
+    void shouldHideReplacedProductsOfMainIndex_WhenProductsAreReplaced() {
+        // Arrange
+        ProductSuggestionIndex index = ProductSuggestionIndex.build(List.of(MOUSE, MONITOR).iterator(), 10);
+        ProductSuggestionResDTO renamedMouse = new ProductSuggestionResDTO(MOUSE.code(), "Gaming mouse");
+
+        // Act
+        ProductSuggestionIndex replacedIndex = index.withReplacedProducts(List.of(renamedMouse));
+
+        // Assert
+        assertThat(replacedIndex.suggest("wireless", 10)).isEmpty();
+        assertThat(replacedIndex.suggest("mo", 10)).containsExactly(MONITOR, renamedMouse);
+        assertThat(replacedIndex.contains(MOUSE.code())).isTrue();
+        assertThat(replacedIndex.getProductCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRemoveReplacedProductsFromMainIndex_WhenDeltaIsMerged() {
+        // Arrange
+        ProductSuggestionIndex index = ProductSuggestionIndex.build(List.of(MOUSE, MONITOR).iterator(), 2);
+        ProductSuggestionResDTO renamedMouse = new ProductSuggestionResDTO(MOUSE.code(), "Gaming mouse");
+        ProductSuggestionIndex rebuiltIndex = ProductSuggestionIndex.build(
+                List.of(MONITOR, renamedMouse, HEADSET).iterator(), 2
+        );
+
+        // Act
+        ProductSuggestionIndex mergedIndex = index.withReplacedProducts(List.of(renamedMouse))
+                .withProducts(List.of(HEADSET));
+
+        // Assert
+        assertThat(mergedIndex.suggest("wireless", 10)).containsExactly(HEADSET);
+        assertThat(mergedIndex.suggest("gam", 10)).containsExactly(renamedMouse);
+        assertThat(mergedIndex.getProductCount()).isEqualTo(3);
+        assertThat(mergedIndex.getKeyCount()).isEqualTo(rebuiltIndex.getKeyCount());
+        assertThat(mergedIndex.getMemoryBytes()).isEqualTo(rebuiltIndex.getMemoryBytes());
+    }
+
+}
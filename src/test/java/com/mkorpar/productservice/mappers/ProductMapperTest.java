@@ -0,0 +1,129 @@
+package com.mkorpar.productservice.mappers;
+
+import com.mkorpar.productservice.clients.enums.ExchangeRateCurrency;
+import com.mkorpar.productservice.data.dtos.ProductReqDTO;
+import com.mkorpar.productservice.data.dtos.ProductResDTO;
+import com.mkorpar.productservice.data.models.ExchangeRateSnapshot;
+import com.mkorpar.productservice.data.models.ExchangeRateTable;
+import com.mkorpar.productservice.data.models.Product;
+import com.mkorpar.productservice.data.projections.ProductProjection;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ProductMapperTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 1, 1);
+
+    private final ProductMapper mapper = new ProductMapper();
+
+    @Test
+    void shouldMapProductReqDTOToProduct() {
+        // Arrange
+        ProductReqDTO productReqDTO = new ProductReqDTO("PRODUCT001", "Product A", new BigDecimal("10.00"), true);
+
+        // Act
+        Product result = mapper.map(productReqDTO);
+
+        // Assert
+        assertThat(result)
+                .extracting(Product::getId, Product::getCode, Product::getName, Product::getPriceEur, Product::isAvailable)
+                .containsExactly(null, "PRODUCT001", "Product A", new BigDecimal("10.00"), true);
+    }
+
+    @Test
+    void shouldMapAllProductsWithTheSameExchangeRate() {
+        // Arrange
+        ExchangeRateSnapshot exchangeRate = new ExchangeRateSnapshot(DATE, new BigDecimal("1.1"));
+        List<Product> products = List.of(
+                createProduct("PRODUCT001", "100.00", true),
+                createProduct("PRODUCT002", "10.55", false)
+        );
+
+        // Act
+        List<ProductResDTO> result = mapper.mapList(products, exchangeRate);
+
+        // Assert
+        assertThat(result)
+                .extracting(ProductResDTO::getCode, ProductResDTO::getPriceEur, ProductResDTO::getPriceUsd,
+                        ProductResDTO::isAvailable)
+                .containsExactly(
+                        tuple("PRODUCT001", new BigDecimal("100.00"), new BigDecimal("110.00"), true),
+                        tuple("PRODUCT002", new BigDecimal("10.55"), new BigDecimal("11.61"), false)
+                );
+    }
+
+    @Test
+    void shouldSetPriceUsdToNull_WhenExchangeRateIsMissing() {
+        // Arrange
+        ExchangeRateSnapshot exchangeRate = new ExchangeRateSnapshot(DATE, null);
+
+        // Act
+        ProductResDTO result = mapper.map(createProduct("PRODUCT001", "100.00", true), exchangeRate);
+
+        // Assert
+        assertThat(result.getPriceEur()).isEqualTo(new BigDecimal("100.00"));
+        assertThat(result.getPriceUsd()).isNull();
+    }
+
+    @Test
+    void shouldMapPricesInRequestedCurrencies_WhenCurrenciesAreRequested() {
+        // Arrange
+        ExchangeRateTable exchangeRates = new ExchangeRateTable(DATE, Map.of(
+                ExchangeRateCurrency.USD, new BigDecimal("1.1"),
+                ExchangeRateCurrency.CHF, new BigDecimal("0.94")
+        ));
+
+        // Act
+        ProductResDTO result = mapper.map(
+                createProduct("PRODUCT001", "100.00", true),
+                exchangeRates,
+                Set.of(ExchangeRateCurrency.CHF, ExchangeRateCurrency.GBP)
+        );
+
+        // Assert
+        assertThat(result.getPriceUsd()).isEqualTo(new BigDecimal("110.00"));
+        assertThat(result.getExchangeRateDate()).isEqualTo(DATE);
+        assertThat(result.getPrices())
+                .containsEntry(ExchangeRateCurrency.CHF, new BigDecimal("94.00"))
+                .containsEntry(ExchangeRateCurrency.GBP, null);
+    }
+
+    @Test
+    void shouldNotMapPrices_WhenNoCurrencyIsRequested() {
+        // Arrange
+        ExchangeRateTable exchangeRates = new ExchangeRateTable(DATE, Map.of(ExchangeRateCurrency.USD, BigDecimal.ONE));
+
+        // Act
+        List<ProductResDTO> result = mapper.mapList(
+                List.of(new ProductProjection(1L, "PRODUCT001", "PRODUCT001", new BigDecimal("100.00"), true, 0)),
+                exchangeRates,
+                Set.of()
+        );
+
+        // Assert
+        assertThat(result).extracting(ProductResDTO::getPrices).containsOnlyNulls();
+    }
+
+    @Test
+    void shouldReturnEmptyList_WhenSourceListIsEmpty() {
+        List<ProductResDTO> result = mapper.mapList(List.of(), new ExchangeRateSnapshot(DATE, BigDecimal.ONE));
+        assertThat(result).isEmpty();
+    }
+
+    private Product createProduct(String code, String priceEur, boolean available) {
+        return Product.builder()
+                .code(code)
+                .name(code)
+                .priceEur(new BigDecimal(priceEur))
+                .available(available)
+                .build();
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.mkorpar.productservice.repository;
+
+import com.mkorpar.productservice.clients.enums.ExchangeRateCurrency;
+import com.mkorpar.productservice.data.models.ExchangeRate;
+import com.mkorpar.productservice.data.models.ExchangeRateId;
+import com.mkorpar.productservice.repositories.ExchangeRateRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ExchangeRateRepositoryTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 1, 15);
+
+    @Autowired
+    private ExchangeRateRepository exchangeRateRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void shouldThrowException_WhenSavingExchangeRateWhichIsAlreadyStored() {
+        // Arrange
+        exchangeRateRepository.saveAndFlush(new ExchangeRate(ExchangeRateCurrency.USD, DATE, new BigDecimal("1.10")));
+        entityManager.clear();
+
+        // Act && Assert
+        assertThatExceptionOfType(DataIntegrityViolationException.class).isThrownBy(() ->
+                exchangeRateRepository.saveAndFlush(new ExchangeRate(ExchangeRateCurrency.USD, DATE, new BigDecimal("1.20")))
+        );
+    }
+
+    @Test
+    void shouldUpdateExchangeRate_WhenLoadedExchangeRateIsSaved() {
+        // Arrange
+        exchangeRateRepository.saveAndFlush(new ExchangeRate(ExchangeRateCurrency.USD, DATE, new BigDecimal("1.10")));
+        entityManager.clear();
+        ExchangeRate exchangeRate = exchangeRateRepository.findById(new ExchangeRateId(ExchangeRateCurrency.USD, DATE))
+                .orElseThrow();
+        exchangeRate.setRate(new BigDecimal("1.20"));
+
+        // Act
+        exchangeRateRepository.saveAndFlush(exchangeRate);
+        entityManager.clear();
+
+        // Assert
+        assertThat(exchangeRateRepository.findAllByDate(DATE))
+                .extracting(ExchangeRate::getRate)
+                .containsExactly(new BigDecimal("1.200000"));
+    }
+
+}
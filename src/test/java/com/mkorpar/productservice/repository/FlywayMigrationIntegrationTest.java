@@ -0,0 +1,60 @@
+package com.mkorpar.productservice.repository;
+
+import com.mkorpar.productservice.clients.ExchangeRateApiClient;
+import com.mkorpar.productservice.data.models.Product;
+import com.mkorpar.productservice.repositories.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Schema of other tests is generated by Hibernate, this test creates it with Flyway migrations, so the context
+ * starts only when Hibernate validates the migrated schema against the entities.
+ */
+@SpringBootTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@ActiveProfiles("test")
+class FlywayMigrationIntegrationTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoBean
+    private ExchangeRateApiClient exchangeRateApiClient;
+
+    @Test
+    void shouldSaveProductsWithChangeSeqAllocatedFromMigratedCounter() {
+        // Act
+        Product saved = transactionTemplate.execute(status -> {
+            Product product = Product.builder()
+                    .code("PRODUCT001")
+                    .name("Migrated product")
+                    .priceEur(new BigDecimal("10.00"))
+                    .available(true)
+                    .changeSeq(productRepository.nextChangeSeq())
+                    .build();
+            return productRepository.saveAndFlush(product);
+        });
+        long nextChangeSeq = transactionTemplate.execute(status -> productRepository.nextChangeSeq());
+
+        // Assert
+        assertThat(productRepository.findProductByCode("PRODUCT001"))
+                .get()
+                .extracting(Product::getId, Product::getChangeSeq, Product::getVersion)
+                .containsExactly(saved.getId(), 1L, 0L);
+        assertThat(nextChangeSeq).isEqualTo(2);
+    }
+
+}
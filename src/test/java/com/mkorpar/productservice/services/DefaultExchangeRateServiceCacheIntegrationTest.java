@@ -1,8 +1,8 @@
 package com.mkorpar.productservice.services;
 
 import com.mkorpar.productservice.clients.ExchangeRateApiClient;
-import com.mkorpar.productservice.clients.enums.ExchangeRateCurrency;
 import com.mkorpar.productservice.data.api.ExchangeRateApiResponse;
+import com.mkorpar.productservice.repositories.ExchangeRateRepository;
 import com.mkorpar.productservice.services.impl.DefaultExchangeRateService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,6 +17,7 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.mockito.Mockito.*;
@@ -39,10 +40,14 @@ class DefaultExchangeRateServiceCacheIntegrationTest {
     @Autowired
     private CacheManager cacheManager;
 
+    @Autowired
+    private ExchangeRateRepository exchangeRateRepository;
+
     @BeforeEach
     void clearCache() {
         Optional.ofNullable(cacheManager.getCache(CACHE_NAME))
                 .ifPresent(Cache::clear);
+        exchangeRateRepository.deleteAll();
     }
 
     @Test
@@ -50,10 +55,11 @@ class DefaultExchangeRateServiceCacheIntegrationTest {
         // Arrange
         BigDecimal expectedRate = new BigDecimal("1.10");
         ExchangeRateApiResponse response = new ExchangeRateApiResponse();
+        response.setCurrency("USD");
         response.setMiddleRate(expectedRate);
 
-        when(exchangeRateApiClient.getExchangeRateAgainstEuro(ExchangeRateCurrency.USD, DATE))
-                .thenReturn(response);
+        when(exchangeRateApiClient.getExchangeRatesAgainstEuro(DATE))
+                .thenReturn(List.of(response));
 
         // Act && Assert
         verifyNoInteractions(exchangeRateApiClient);
@@ -62,12 +68,12 @@ class DefaultExchangeRateServiceCacheIntegrationTest {
         exchangeRate = exchangeRateService.getEurToUsdExchangeRate(DATE);
         assertThat(exchangeRate).containsSame(expectedRate);
         verify(exchangeRateApiClient, times(1))
-                .getExchangeRateAgainstEuro(ExchangeRateCurrency.USD, DATE);
+                .getExchangeRatesAgainstEuro(DATE);
 
         exchangeRate = exchangeRateService.getEurToUsdExchangeRate(DATE);
         assertThat(exchangeRate).containsSame(expectedRate);
         verify(exchangeRateApiClient, times(1))
-                .getExchangeRateAgainstEuro(ExchangeRateCurrency.USD, DATE);
+                .getExchangeRatesAgainstEuro(DATE);
     }
 
 }
@@ -3,21 +3,42 @@ package com.mkorpar.productservice.services;
 import com.mkorpar.productservice.clients.ExchangeRateApiClient;
 import com.mkorpar.productservice.clients.enums.ExchangeRateCurrency;
 import com.mkorpar.productservice.data.api.ExchangeRateApiResponse;
+import com.mkorpar.productservice.data.models.ExchangeRate;
+import com.mkorpar.productservice.data.models.ExchangeRateSnapshot;
+import com.mkorpar.productservice.data.models.ExchangeRateTable;
 import com.mkorpar.productservice.exceptions.ExchangeRateCallNotPermittedException;
 import com.mkorpar.productservice.exceptions.ExchangeRateUnavailableException;
 import com.mkorpar.productservice.exceptions.ExchangeRateUnexpectedException;
+import com.mkorpar.productservice.repositories.ExchangeRateRepository;
 import com.mkorpar.productservice.services.impl.DefaultExchangeRateService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,22 +46,45 @@ class DefaultExchangeRateServiceTest {
 
     private static final LocalDate DATE = LocalDate.of(2025, 1, 1);
 
+    private static final Clock CLOCK = Clock.fixed(
+            DATE.atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC
+    );
+
     @Mock
     private ExchangeRateApiClient exchangeRateApiClient;
 
-    @InjectMocks
+    @Mock
+    private ExchangeRateRepository exchangeRateRepository;
+
+    @Captor
+    private ArgumentCaptor<List<ExchangeRate>> storedExchangeRates;
+
+    private final ExecutorService executorService = Executors.newCachedThreadPool();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private DefaultExchangeRateService exchangeRateService;
 
+    @BeforeEach
+    void setUp() {
+        exchangeRateService = createExchangeRateService(Runnable::run, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
 
     @Test
     void shouldReturnExchangeRate_WhenApiCallSucceeds() {
         // Arrange
         BigDecimal expectedRate = new BigDecimal("1.10");
         ExchangeRateApiResponse response = new ExchangeRateApiResponse();
+        response.setCurrency("USD");
         response.setMiddleRate(expectedRate);
 
-        when(exchangeRateApiClient.getExchangeRateAgainstEuro(ExchangeRateCurrency.USD, DATE))
-                .thenReturn(response);
+        when(exchangeRateApiClient.getExchangeRatesAgainstEuro(DATE))
+                .thenReturn(List.of(response));
 
         // Act
         Optional<BigDecimal> result = exchangeRateService.getEurToUsdExchangeRate(DATE);
@@ -52,7 +96,7 @@ class DefaultExchangeRateServiceTest {
     @Test
     void shouldReturnEmpty_WhenExchangeRateUnexpectedExceptionThrown() {
         // Arrange
-        when(exchangeRateApiClient.getExchangeRateAgainstEuro(ExchangeRateCurrency.USD, DATE))
+        when(exchangeRateApiClient.getExchangeRatesAgainstEuro(DATE))
                 .thenThrow(new ExchangeRateUnexpectedException("Unexpected exception", new RuntimeException()));
 
         // Act
@@ -65,7 +109,7 @@ class DefaultExchangeRateServiceTest {
     @Test
     void shouldReturnEmpty_WhenExchangeRateUnavailableExceptionThrown() {
         // Arrange
-        when(exchangeRateApiClient.getExchangeRateAgainstEuro(ExchangeRateCurrency.USD, DATE))
+        when(exchangeRateApiClient.getExchangeRatesAgainstEuro(DATE))
                 .thenThrow(new ExchangeRateUnavailableException("Rate unavailable"));
 
         // Act
@@ -78,7 +122,7 @@ class DefaultExchangeRateServiceTest {
     @Test
     void shouldReturnEmpty_WhenExchangeRateCallNotPermittedExceptionThrown() {
         // Arrange
-        when(exchangeRateApiClient.getExchangeRateAgainstEuro(ExchangeRateCurrency.USD, DATE))
+        when(exchangeRateApiClient.getExchangeRatesAgainstEuro(DATE))
                 .thenThrow(new ExchangeRateCallNotPermittedException("Call not permitted"));
 
         // Act
@@ -88,4 +132,180 @@ class DefaultExchangeRateServiceTest {
         assertThat(result).isEmpty();
     }
 
+    @Test
+    void shouldCacheNextDayExchangeRate_WhenPrefetchSucceeds() {
+        // Arrange
+        LocalDate nextDate = DATE.plusDays(1);
+        BigDecimal expectedRate = new BigDecimal("1.12");
+        ExchangeRateApiResponse response = new ExchangeRateApiResponse();
+        response.setCurrency("USD");
+        response.setMiddleRate(expectedRate);
+
+        when(exchangeRateApiClient.getExchangeRatesAgainstEuro(nextDate))
+                .thenReturn(List.of(response));
+
+        // Act
+        exchangeRateService.prefetchNextDayExchangeRates();
+        Optional<BigDecimal> result = exchangeRateService.getEurToUsdExchangeRate(nextDate);
+
+        // Assert
+        assertThat(result).contains(expectedRate);
+        verify(exchangeRateApiClient, times(1)).getExchangeRatesAgainstEuro(nextDate);
+    }
+
+    @Test
+    void shouldNotCacheNextDayExchangeRate_WhenPrefetchFails() {
+        // Arrange
+        LocalDate nextDate = DATE.plusDays(1);
+        when(exchangeRateApiClient.getExchangeRatesAgainstEuro(nextDate))
+                .thenThrow(new ExchangeRateUnavailableException("Rate unavailable"));
+
+        // Act
+        exchangeRateService.prefetchNextDayExchangeRates();
+
+        // Assert
+        assertThat(exchangeRateService.getExchangeRateCache().getIfPresent(nextDate)).isNull();
+    }
+
+    @Test
+    void shouldReturnStoredExchangeRate_WithoutCallingApi() {
+        // Arrange
+        BigDecimal expectedRate = new BigDecimal("1.10");
+        when(exchangeRateRepository.findAllByDate(DATE))
+                .thenReturn(List.of(new ExchangeRate(ExchangeRateCurrency.USD, DATE, expectedRate)));
+
+        // Act
+        ExchangeRateSnapshot result = exchangeRateService.getEurToUsdExchangeRateSnapshot(DATE);
+
+        // Assert
+        assertThat(result).isEqualTo(new ExchangeRateSnapshot(DATE, expectedRate));
+        verifyNoInteractions(exchangeRateApiClient);
+    }
+
+    @Test
+    void shouldStoreAllExchangeRatesOfTheList_WhenApiCallSucceeds() {
+        // Arrange
+        when(exchangeRateApiClient.getExchangeRatesAgainstEuro(DATE)).thenReturn(List.of(
+                createResponse("USD", "1.10"), createResponse("CHF", "0.94"), createResponse("XXX", "1.00")
+        ));
+
+        // Act
+        ExchangeRateTable result = exchangeRateService.getExchangeRateTable(DATE);
+
+        // Assert
+        assertThat(result.rates()).containsOnly(
+                entry(ExchangeRateCurrency.USD, new BigDecimal("1.10")),
+                entry(ExchangeRateCurrency.CHF, new BigDecimal("0.94"))
+        );
+        verify(exchangeRateRepository).saveAll(storedExchangeRates.capture());
+        assertThat(storedExchangeRates.getValue()).containsExactlyInAnyOrder(
+                new ExchangeRate(ExchangeRateCurrency.CHF, DATE, new BigDecimal("0.94")),
+                new ExchangeRate(ExchangeRateCurrency.USD, DATE, new BigDecimal("1.10"))
+        );
+    }
+
+    @Test
+    void shouldReturnLastKnownExchangeRate_WhenExchangeRateIsUnavailable() {
+        // Arrange
+        LocalDate lastKnownDate = DATE.minusDays(2);
+        BigDecimal lastKnownRate = new BigDecimal("1.08");
+        ExchangeRate lastKnownExchangeRate = new ExchangeRate(ExchangeRateCurrency.USD, lastKnownDate, lastKnownRate);
+        when(exchangeRateRepository.findAllByDate(DATE)).thenReturn(List.of());
+        when(exchangeRateApiClient.getExchangeRatesAgainstEuro(DATE))
+                .thenThrow(new ExchangeRateUnavailableException("Rate unavailable"));
+        when(exchangeRateRepository.findFirstByDateBetweenOrderByDateDesc(DATE.minusDays(7), DATE.minusDays(1)))
+                .thenReturn(Optional.of(lastKnownExchangeRate));
+        when(exchangeRateRepository.findAllByDate(lastKnownDate)).thenReturn(List.of(lastKnownExchangeRate));
+
+        // Act
+        ExchangeRateSnapshot result = exchangeRateService.getEurToUsdExchangeRateSnapshot(DATE);
+
+        // Assert
+        assertThat(result).isEqualTo(new ExchangeRateSnapshot(lastKnownDate, lastKnownRate));
+    }
+
+    @Test
+    void shouldCallApiOnce_WhenConcurrentCallersMissTheSameDate() throws Exception {
+        // Arrange
+        DefaultExchangeRateService service = createExchangeRateService(executorService, Duration.ofSeconds(5));
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch apiResponded = new CountDownLatch(1);
+        when(exchangeRateApiClient.getExchangeRatesAgainstEuro(DATE)).thenAnswer(invocation -> {
+            loadStarted.countDown();
+            apiResponded.await(5, TimeUnit.SECONDS);
+            return List.of(createResponse("USD", "1.10"));
+        });
+
+        // Act
+        CompletableFuture<ExchangeRateTable> first = CompletableFuture.supplyAsync(
+                () -> service.getExchangeRateTable(DATE), executorService
+        );
+        assertThat(loadStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<ExchangeRateTable> second = CompletableFuture.supplyAsync(
+                () -> service.getExchangeRateTable(DATE), executorService
+        );
+        awaitCounter(DefaultExchangeRateService.COALESCED_CALLS_METRIC, 1);
+        apiResponded.countDown();
+
+        // Assert
+        assertThat(first.get(5, TimeUnit.SECONDS).isAvailable()).isTrue();
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(first.get());
+        verify(exchangeRateApiClient, times(1)).getExchangeRatesAgainstEuro(DATE);
+    }
+
+    @Test
+    void shouldReturnUnavailableExchangeRate_WhenLoadTimesOut() {
+        // Arrange
+        DefaultExchangeRateService service = createExchangeRateService(executorService, Duration.ofMillis(50));
+        CountDownLatch apiResponded = new CountDownLatch(1);
+        when(exchangeRateApiClient.getExchangeRatesAgainstEuro(DATE)).thenAnswer(invocation -> {
+            apiResponded.await(5, TimeUnit.SECONDS);
+            return List.of(createResponse("USD", "1.10"));
+        });
+
+        // Act
+        ExchangeRateTable result = service.getExchangeRateTable(DATE);
+        apiResponded.countDown();
+
+        // Assert
+        assertThat(result).isEqualTo(ExchangeRateTable.unavailable(DATE));
+        assertThat(meterRegistry.counter(DefaultExchangeRateService.LOAD_TIMEOUTS_METRIC).count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCacheUnavailableExchangeRate_WithinNegativeTtl() {
+        // Arrange
+        when(exchangeRateApiClient.getExchangeRatesAgainstEuro(DATE))
+                .thenThrow(new ExchangeRateUnavailableException("Rate unavailable"));
+
+        // Act
+        exchangeRateService.getExchangeRateTable(DATE);
+        ExchangeRateTable result = exchangeRateService.getExchangeRateTable(DATE);
+
+        // Assert
+        assertThat(result.isAvailable()).isFalse();
+        verify(exchangeRateApiClient, times(1)).getExchangeRatesAgainstEuro(DATE);
+    }
+
+    private DefaultExchangeRateService createExchangeRateService(Executor executor, Duration loadTimeout) {
+        return new DefaultExchangeRateService(
+                exchangeRateApiClient, exchangeRateRepository, CLOCK, executor, meterRegistry, 7,
+                Duration.ofMinutes(15), Duration.ofSeconds(30), loadTimeout, true, Period.ofDays(7)
+        );
+    }
+
+    private void awaitCounter(String name, double expectedCount) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.counter(name).count() < expectedCount && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private ExchangeRateApiResponse createResponse(String currency, String middleRate) {
+        ExchangeRateApiResponse response = new ExchangeRateApiResponse();
+        response.setCurrency(currency);
+        response.setMiddleRate(new BigDecimal(middleRate));
+        return response;
+    }
+
 }
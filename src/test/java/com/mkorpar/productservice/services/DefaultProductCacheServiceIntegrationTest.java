@@ -0,0 +1,139 @@
+package com.mkorpar.productservice.services;
+
+import com.mkorpar.productservice.clients.ExchangeRateApiClient;
+import com.mkorpar.productservice.data.api.ExchangeRateApiResponse;
+import com.mkorpar.productservice.data.dtos.ProductResDTO;
+import com.mkorpar.productservice.data.projections.ProductProjection;
+import com.mkorpar.productservice.repositories.ExchangeRateRepository;
+import com.mkorpar.productservice.repositories.ProductRepository;
+import com.mkorpar.productservice.services.impl.DefaultProductCacheService;
+import com.mkorpar.productservice.services.impl.DefaultProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+class DefaultProductCacheServiceIntegrationTest {
+
+    private static final String CODE = "PRODUCT001";
+    private static final ProductProjection PRODUCT = new ProductProjection(
+            1L, CODE, "Test product", new BigDecimal("10.00"), true, 0
+    );
+
+    @MockitoBean
+    private ProductRepository productRepository;
+
+    @Autowired
+    private Clock clock;
+
+    @MockitoBean
+    private ExchangeRateApiClient exchangeRateApiClient;
+
+    @Autowired
+    private DefaultProductCacheService productCacheService;
+
+    @Autowired
+    private DefaultProductService productService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ExchangeRateRepository exchangeRateRepository;
+
+    @BeforeEach
+    void clearCaches() {
+        cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .forEach(Cache::clear);
+    }
+
+    @Test
+    void shouldReturnCachedProduct_WhenProductIsRequestedRepeatedly() {
+        // Arrange
+        when(productRepository.findProjectionByCode(CODE)).thenReturn(Optional.of(PRODUCT));
+
+        // Act
+        Optional<ProductProjection> first = productCacheService.getProduct(CODE);
+        Optional<ProductProjection> second = productCacheService.getProduct(CODE);
+
+        // Assert
+        assertThat(first).contains(PRODUCT);
+        assertThat(second).contains(PRODUCT);
+        verify(productRepository, times(1)).findProjectionByCode(CODE);
+    }
+
+    @Test
+    void shouldNotCacheMissingProduct() {
+        // Arrange
+        when(productRepository.findProjectionByCode(CODE)).thenReturn(Optional.empty());
+
+        // Act
+        productCacheService.getProduct(CODE);
+        productCacheService.getProduct(CODE);
+
+        // Assert
+        verify(productRepository, times(2)).findProjectionByCode(CODE);
+    }
+
+    @Test
+    void shouldLoadProductAgain_WhenProductIsEvicted() {
+        // Arrange
+        when(productRepository.findProjectionByCode(CODE)).thenReturn(Optional.of(PRODUCT));
+        productCacheService.getProduct(CODE);
+
+        // Act
+        productCacheService.evictProduct(CODE);
+        productCacheService.getProduct(CODE);
+
+        // Assert
+        verify(productRepository, times(2)).findProjectionByCode(CODE);
+    }
+
+    @Test
+    void shouldComputeUsdPriceWithCurrentRate_WhenProductIsCached() {
+        // Arrange
+        when(productRepository.findProjectionByCode(CODE)).thenReturn(Optional.of(PRODUCT));
+        mockExchangeRate(new BigDecimal("1.10"));
+        ProductResDTO first = productService.getProduct(CODE);
+
+        Optional.ofNullable(cacheManager.getCache("exchangeRates")).ifPresent(Cache::clear);
+        exchangeRateRepository.deleteAll();
+        mockExchangeRate(new BigDecimal("1.20"));
+
+        // Act
+        ProductResDTO second = productService.getProduct(CODE);
+
+        // Assert
+        assertThat(first.getPriceUsd()).isEqualByComparingTo("11.00");
+        assertThat(second.getPriceUsd()).isEqualByComparingTo("12.00");
+        verify(productRepository, times(1)).findProjectionByCode(CODE);
+    }
+
+    private void mockExchangeRate(BigDecimal rate) {
+        ExchangeRateApiResponse response = new ExchangeRateApiResponse();
+        response.setCurrency("USD");
+        response.setMiddleRate(rate);
+        when(exchangeRateApiClient.getExchangeRatesAgainstEuro(LocalDate.now(clock)))
+                .thenReturn(List.of(response));
+    }
+
+}
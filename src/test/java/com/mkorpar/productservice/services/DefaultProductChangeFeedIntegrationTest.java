@@ -0,0 +1,104 @@
+package com.mkorpar.productservice.services;
+
+import com.mkorpar.productservice.clients.ExchangeRateApiClient;
+import com.mkorpar.productservice.data.dtos.ProductChangesResDTO;
+import com.mkorpar.productservice.data.dtos.ProductReqDTO;
+import com.mkorpar.productservice.data.dtos.ProductResDTO;
+import com.mkorpar.productservice.repositories.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Writes of this test are committed by concurrent transactions, so the test is not transactional.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DefaultProductChangeFeedIntegrationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoBean
+    private ExchangeRateApiClient exchangeRateApiClient;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void shouldNotSkipChange_WhenFeedIsReadWhileEarlierWriteIsNotCommitted() throws Exception {
+        // Arrange
+        String since = productService.getProductChanges("", 100).nextSince();
+        CountDownLatch firstWritten = new CountDownLatch(1);
+        CountDownLatch firstCommitAllowed = new CountDownLatch(1);
+        Future<?> firstWrite = executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            productService.createProduct(createProductReqDTO("PRODUCT001"));
+            firstWritten.countDown();
+            awaitLatch(firstCommitAllowed);
+        }));
+        assertThat(firstWritten.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<?> secondWrite = executor.submit(() -> productService.createProduct(createProductReqDTO("PRODUCT002")));
+
+        // Act
+        // Second write gets its change sequence value only after the first write commits
+        assertThatThrownBy(() -> secondWrite.get(300, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+        ProductChangesResDTO changesDuringWrites = productService.getProductChanges(since, 100);
+        firstCommitAllowed.countDown();
+        firstWrite.get(5, TimeUnit.SECONDS);
+        secondWrite.get(5, TimeUnit.SECONDS);
+        ProductChangesResDTO changesAfterWrites = productService.getProductChanges(changesDuringWrites.nextSince(), 100);
+
+        // Assert
+        assertThat(changesDuringWrites.content()).isEmpty();
+        assertThat(changesAfterWrites.content())
+                .extracting(ProductResDTO::getCode)
+                .containsExactly("PRODUCT001", "PRODUCT002");
+    }
+
+    private void awaitLatch(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ProductReqDTO createProductReqDTO(String code) {
+        return new ProductReqDTO(code, "Product", new BigDecimal("10.00"), true);
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.mkorpar.productservice.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mkorpar.productservice.clients.ExchangeRateApiClient;
+import com.mkorpar.productservice.clients.enums.ExchangeRateCurrency;
+import com.mkorpar.productservice.data.api.ExchangeRateApiResponse;
+import com.mkorpar.productservice.data.enums.CatalogFormat;
+import com.mkorpar.productservice.data.models.Product;
+import com.mkorpar.productservice.repositories.ExchangeRateRepository;
+import com.mkorpar.productservice.repositories.ProductRepository;
+import com.mkorpar.productservice.services.impl.DefaultProductExportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+class DefaultProductExportServiceIntegrationTest {
+
+    @Autowired
+    private DefaultProductExportService productExportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ExchangeRateRepository exchangeRateRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Clock clock;
+
+    @MockitoBean
+    private ExchangeRateApiClient exchangeRateApiClient;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().stream()
+                .map(cacheManager::getCache)
+                .forEach(Cache::clear);
+        // Rates are loaded outside of the test thread, so they are cleared without a test transaction
+        exchangeRateRepository.deleteAll();
+
+        when(exchangeRateApiClient.getExchangeRatesAgainstEuro(LocalDate.now(clock))).thenReturn(List.of(
+                createResponse("USD", "1.10"), createResponse("CHF", "0.94")
+        ));
+
+        productRepository.saveAll(List.of(
+                createProduct("PRODUCT001", "First product", "10.00", true),
+                createProduct("PRODUCT002", "Second, \"quoted\" product", "20.00", false)
+        ));
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void shouldExportAllProductsAsNdjson() throws Exception {
+        // Arrange
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // Act
+        productExportService.exportProducts(CatalogFormat.NDJSON, Set.of(), outputStream);
+
+        // Assert
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("code").asText()).isEqualTo("PRODUCT001");
+        assertThat(first.get("price_usd").decimalValue()).isEqualByComparingTo("11.00");
+        assertThat(first.has("prices")).isFalse();
+        assertThat(objectMapper.readTree(lines[1]).get("code").asText()).isEqualTo("PRODUCT002");
+    }
+
+    @Test
+    void shouldExportAllProductsAsCsvWithRequestedCurrencies() {
+        // Arrange
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        LocalDate date = LocalDate.now(clock);
+
+        // Act
+        productExportService.exportProducts(CatalogFormat.CSV, Set.of(ExchangeRateCurrency.CHF), outputStream);
+
+        // Assert
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "code,name,price_eur,price_usd,available,exchange_rate_date,price_chf\n"
+                        + "PRODUCT001,First product,10.00,11.00,true," + date + ",9.40\n"
+                        + "PRODUCT002,\"Second, \"\"quoted\"\" product\",20.00,22.00,false," + date + ",18.80\n"
+        );
+    }
+
+    private Product createProduct(String code, String name, String priceEur, boolean available) {
+        return Product.builder()
+                .code(code)
+                .name(name)
+                .priceEur(new BigDecimal(priceEur))
+                .available(available)
+                .build();
+    }
+
+    private ExchangeRateApiResponse createResponse(String currency, String middleRate) {
+        ExchangeRateApiResponse response = new ExchangeRateApiResponse();
+        response.setCurrency(currency);
+        response.setMiddleRate(new BigDecimal(middleRate));
+        return response;
+    }
+
+}
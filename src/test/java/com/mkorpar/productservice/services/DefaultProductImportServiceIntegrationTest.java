@@ -0,0 +1,136 @@
+package com.mkorpar.productservice.services;
+
+import com.mkorpar.productservice.data.dtos.ProductImportResDTO;
+import com.mkorpar.productservice.data.enums.CatalogFormat;
+import com.mkorpar.productservice.data.models.Product;
+import com.mkorpar.productservice.exceptions.InvalidProductImportException;
+import com.mkorpar.productservice.repositories.ProductRepository;
+import com.mkorpar.productservice.services.impl.DefaultProductImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class DefaultProductImportServiceIntegrationTest {
+
+    @Autowired
+    private DefaultProductImportService productImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.save(Product.builder()
+                .code("PRODUCT001")
+                .name("Existing product")
+                .priceEur(new BigDecimal("10.00"))
+                .available(true)
+                .build());
+    }
+
+    @Test
+    void shouldImportValidProductsAndCountDuplicatesAndSkippedRows_WhenNdjsonIsImported() {
+        // Arrange
+        InputStream inputStream = toInputStream("""
+                {"code":"PRODUCT001","name":"Existing product","price_eur":20.00,"available":false}
+                {"code":"PRODUCT002","name":"Second product","price_eur":20.00,"available":true}
+                {"code":"PRODUCT002","name":"Repeated product","price_eur":30.00,"available":true}
+                {"code":"INVALID","name":"Invalid product","price_eur":20.00,"available":true}
+                {"code":"PRODUCT003",
+                
+                {"code":"PRODUCT004","name":"Fourth product","price_eur":40.00}
+                """);
+
+        // Act
+        ProductImportResDTO result = productImportService.importProducts(
+                CatalogFormat.NDJSON, StandardCharsets.UTF_8, inputStream
+        );
+
+        // Assert
+        assertThat(result).isEqualTo(new ProductImportResDTO(2, 2, 2));
+        assertThat(productRepository.findAll())
+                .extracting(Product::getCode, Product::getName, Product::isAvailable)
+                .containsExactlyInAnyOrder(
+                        tuple("PRODUCT001", "Existing product", true),
+                        tuple("PRODUCT002", "Second product", true),
+                        tuple("PRODUCT004", "Fourth product", false)
+                );
+    }
+
+    @Test
+    void shouldImportProductsByHeaderColumns_WhenCsvIsImported() {
+        // Arrange
+        InputStream inputStream = toInputStream("""
+                price_eur,code,name,price_usd,available
+                20.00,PRODUCT002,"Second, ""quoted"" product",22.00,true
+                abc,PRODUCT003,Invalid price,,true
+                30.00,PRODUCT004,"Multi
+                line product",,maybe
+                40.00,PRODUCT005,Fifth product,,
+                """);
+
+        // Act
+        ProductImportResDTO result = productImportService.importProducts(
+                CatalogFormat.CSV, StandardCharsets.UTF_8, inputStream
+        );
+
+        // Assert
+        assertThat(result).isEqualTo(new ProductImportResDTO(2, 0, 2));
+        assertThat(productRepository.findProductByCode("PRODUCT002"))
+                .get()
+                .extracting(Product::getName, Product::getPriceEur, Product::isAvailable)
+                .containsExactly("Second, \"quoted\" product", new BigDecimal("20.00"), true);
+        assertThat(productRepository.findProductByCode("PRODUCT005")).isPresent();
+    }
+
+    @Test
+    void shouldThrowException_WhenCsvHeaderDoesNotContainRequiredColumns() {
+        // Arrange
+        InputStream inputStream = toInputStream("code,name\nPRODUCT002,Second product\n");
+
+        // Act && Assert
+        assertThatExceptionOfType(InvalidProductImportException.class)
+                .isThrownBy(() -> productImportService.importProducts(CatalogFormat.CSV, StandardCharsets.UTF_8, inputStream))
+                .withMessage("CSV header must contain code, name and price_eur columns.");
+    }
+
+    @Test
+    void shouldDecodeProductsWithGivenCharset_WhenImportIsNotInUtf8() {
+        // Arrange
+        InputStream inputStream = new ByteArrayInputStream(
+                "code,name,price_eur\nPRODUCT002,Caf\u00e9 cup,20.00\n".getBytes(StandardCharsets.ISO_8859_1)
+        );
+
+        // Act
+        ProductImportResDTO result = productImportService.importProducts(
+                CatalogFormat.CSV, StandardCharsets.ISO_8859_1, inputStream
+        );
+
+        // Assert
+        assertThat(result).isEqualTo(new ProductImportResDTO(1, 0, 0));
+        assertThat(productRepository.findProductByCode("PRODUCT002"))
+                .get()
+                .extracting(Product::getName)
+                .isEqualTo("Caf\u00e9 cup");
+    }
+
+    private InputStream toInputStream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,149 @@
+package com.mkorpar.productservice.services;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.mkorpar.productservice.clients.enums.ExchangeRateCurrency;
+import com.mkorpar.productservice.data.dtos.ProductResDTO;
+import com.mkorpar.productservice.data.enums.CacheExpiry;
+import com.mkorpar.productservice.data.models.EncodedResponse;
+import com.mkorpar.productservice.data.models.ProductResponseKey;
+import com.mkorpar.productservice.services.impl.DefaultProductResponseCacheService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DefaultProductResponseCacheServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2025, 1, 1);
+    private static final ProductResDTO PRODUCT = new ProductResDTO(
+            "PRODUCT001", "Test product", new BigDecimal("10.00"), new BigDecimal("11.00"), true, DATE, 0,
+            Map.of(ExchangeRateCurrency.CHF, new BigDecimal("9.40"))
+    );
+    private static final ProductResponseKey KEY = new ProductResponseKey(
+            PRODUCT.getCode(), 0, DATE, List.of(ExchangeRateCurrency.CHF)
+    );
+
+    @Mock
+    private Supplier<ProductResDTO> product;
+
+    @Test
+    void shouldSerializeAndCompressResponseOnce_WhenSameResponseIsRequestedAgain() throws IOException {
+        // Arrange
+        ProductResponseCacheService responseCacheService = createResponseCacheService(true);
+        when(product.get()).thenReturn(PRODUCT);
+
+        // Act
+        EncodedResponse response = responseCacheService.getResponse(KEY, product);
+        EncodedResponse cachedResponse = responseCacheService.getResponse(KEY, product);
+
+        // Assert
+        String body = new String(response.body(), StandardCharsets.UTF_8);
+        assertThat(body).contains("\"price_eur\":10.00", "\"CHF\":9.40");
+        assertThat(decompress(response.gzipBody())).isEqualTo(response.body());
+        assertThat(cachedResponse).isSameAs(response);
+        verify(product, times(1)).get();
+    }
+
+    @Test
+    void shouldNotCompressResponse_WhenBodyIsSmallerThanGzipMinSize() {
+        // Arrange
+        ProductResponseCacheService responseCacheService = createResponseCacheService(true, DataSize.ofKilobytes(1));
+        when(product.get()).thenReturn(PRODUCT);
+
+        // Act
+        EncodedResponse response = responseCacheService.getResponse(KEY, product);
+
+        // Assert
+        assertThat(response.body()).hasSizeLessThan(1024);
+        assertThat(response.hasGzipBody()).isFalse();
+    }
+
+    @Test
+    void shouldSerializeResponseAgain_WhenProductVersionChanges() {
+        // Arrange
+        ProductResponseCacheService responseCacheService = createResponseCacheService(true);
+        when(product.get()).thenReturn(PRODUCT);
+        responseCacheService.getResponse(KEY, product);
+
+        // Act
+        responseCacheService.getResponse(
+                new ProductResponseKey(KEY.code(), KEY.version() + 1, KEY.exchangeRateDate(), KEY.currencies()), product
+        );
+
+        // Assert
+        verify(product, times(2)).get();
+    }
+
+    @Test
+    void shouldEvictAllResponses_WhenNewerExchangeRatesAreApplied() {
+        // Arrange
+        ProductResponseCacheService responseCacheService = createResponseCacheService(true);
+        when(product.get()).thenReturn(PRODUCT);
+        responseCacheService.getResponse(KEY, product);
+
+        // Act
+        responseCacheService.getResponse(
+                new ProductResponseKey("PRODUCT002", 0, DATE.plusDays(1), List.of()), product
+        );
+        responseCacheService.getResponse(KEY, product);
+
+        // Assert
+        verify(product, times(3)).get();
+    }
+
+    @Test
+    void shouldSerializeEveryResponseWithoutCompression_WhenCacheIsDisabled() {
+        // Arrange
+        ProductResponseCacheService responseCacheService = createResponseCacheService(false);
+        when(product.get()).thenReturn(PRODUCT);
+
+        // Act
+        EncodedResponse response = responseCacheService.getResponse(KEY, product);
+        responseCacheService.getResponse(KEY, product);
+
+        // Assert
+        assertThat(response.hasGzipBody()).isFalse();
+        verify(product, times(2)).get();
+    }
+
+    private ProductResponseCacheService createResponseCacheService(boolean enabled) {
+        return createResponseCacheService(enabled, DataSize.ofBytes(0));
+    }
+
+    private ProductResponseCacheService createResponseCacheService(boolean enabled, DataSize gzipMinSize) {
+        return new DefaultProductResponseCacheService(
+                Jackson2ObjectMapperBuilder.json().propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE).build(),
+                new SimpleMeterRegistry(),
+                enabled,
+                gzipMinSize,
+                DataSize.ofMegabytes(1),
+                CacheExpiry.AFTER_ACCESS,
+                Duration.ofMinutes(10)
+        );
+    }
+
+    private byte[] decompress(byte[] gzipBody) throws IOException {
+        try (GZIPInputStream inputStream = new GZIPInputStream(new ByteArrayInputStream(gzipBody))) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+}
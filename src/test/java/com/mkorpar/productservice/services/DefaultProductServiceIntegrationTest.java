@@ -4,28 +4,53 @@ import com.mkorpar.productservice.clients.ExchangeRateApiClient;
 import com.mkorpar.productservice.clients.enums.ExchangeRateCurrency;
 import com.mkorpar.productservice.data.api.ExchangeRateApiResponse;
 import com.mkorpar.productservice.data.dtos.PageResDTO;
+import com.mkorpar.productservice.data.dtos.ProductBatchItemResDTO;
+import com.mkorpar.productservice.data.dtos.ProductBatchResDTO;
+import com.mkorpar.productservice.data.dtos.ProductChangesResDTO;
+import com.mkorpar.productservice.data.dtos.ProductPatchReqDTO;
 import com.mkorpar.productservice.data.dtos.ProductReqDTO;
 import com.mkorpar.productservice.data.dtos.ProductResDTO;
+import com.mkorpar.productservice.data.enums.BatchItemStatus;
+import com.mkorpar.productservice.data.enums.CountMode;
 import com.mkorpar.productservice.data.models.Product;
+import com.mkorpar.productservice.data.models.ProductFilter;
+import com.mkorpar.productservice.data.rest.ValidationErrorData;
+import com.mkorpar.productservice.exceptions.BatchSizeExceededException;
 import com.mkorpar.productservice.exceptions.DuplicateProductCodeException;
+import com.mkorpar.productservice.exceptions.InvalidCursorException;
 import com.mkorpar.productservice.exceptions.ProductNotFoundException;
+import com.mkorpar.productservice.exceptions.ProductVersionConflictException;
+import com.mkorpar.productservice.exceptions.UnsupportedSortException;
 import com.mkorpar.productservice.repositories.ProductRepository;
+import com.mkorpar.productservice.services.impl.DefaultProductCacheService;
 import com.mkorpar.productservice.services.impl.DefaultProductService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Clock;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -45,6 +70,18 @@ class DefaultProductServiceIntegrationTest {
     @Autowired
     private DefaultProductService productService;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private Clock clock;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ProductCountService productCountService;
+
     @MockitoBean
     private ExchangeRateApiClient exchangeRateApiClient;
 
@@ -53,11 +90,13 @@ class DefaultProductServiceIntegrationTest {
     @BeforeEach
     void setUp() {
         productToCreate = createProductReqDTO("PRODUCT001", "Test product", 99.99, true);
+        Optional.ofNullable(cacheManager.getCache(DefaultProductCacheService.CACHE_NAME)).ifPresent(Cache::clear);
 
         ExchangeRateApiResponse response = new ExchangeRateApiResponse();
+        response.setCurrency("USD");
         response.setMiddleRate(EXCHANGE_RATE);
-        when(exchangeRateApiClient.getExchangeRateAgainstEuro(ExchangeRateCurrency.USD, LocalDate.now()))
-                .thenReturn(response);
+        when(exchangeRateApiClient.getExchangeRatesAgainstEuro(LocalDate.now(clock)))
+                .thenReturn(List.of(response));
     }
 
     @Test
@@ -96,6 +135,17 @@ class DefaultProductServiceIntegrationTest {
         assertThat(allProducts).hasSize(1);
     }
 
+    @Test
+    void shouldRethrowException_WhenProductViolatesOtherConstraintThanUniqueCode() {
+        // Arrange
+        ProductReqDTO productWithTooLongName = createProductReqDTO("PRODUCT999", "x".repeat(256), 99.99, true);
+
+        // Act && Assert
+        assertThatThrownBy(() ->
+                productService.createProduct(productWithTooLongName)
+        ).isInstanceOf(DataIntegrityViolationException.class);
+    }
+
     @Test
     void shouldCreateMultipleProducts_WhenProductCodesAreDifferent() {
         // Arrange
@@ -115,6 +165,56 @@ class DefaultProductServiceIntegrationTest {
         assertThat(allProducts).hasSize(2);
     }
 
+    @Test
+    void shouldCreateValidProductsAndReportInvalidAndDuplicateProducts_WhenBatchIsCreated() {
+        // Arrange
+        productService.createProduct(productToCreate);
+        List<ProductReqDTO> batch = List.of(
+                createProductReqDTO("PRODUCT002", "Second test product", 10.0, true),
+                createProductReqDTO("INVALID", "Invalid product", 10.0, true),
+                createProductReqDTO(productToCreate.getCode(), "Existing product", 10.0, true),
+                createProductReqDTO("PRODUCT003", "Third test product", 20.0, false),
+                createProductReqDTO("PRODUCT002", "Duplicate in batch", 10.0, true)
+        );
+
+        // Act
+        ProductBatchResDTO result = productService.createProducts(batch);
+
+        // Assert
+        assertThat(result.created()).isEqualTo(2);
+        assertThat(result.failed()).isEqualTo(3);
+        assertThat(result.items())
+                .extracting(ProductBatchItemResDTO::index, ProductBatchItemResDTO::code, ProductBatchItemResDTO::status)
+                .containsExactly(
+                        tuple(0, "PRODUCT002", BatchItemStatus.CREATED),
+                        tuple(1, "INVALID", BatchItemStatus.INVALID),
+                        tuple(2, productToCreate.getCode(), BatchItemStatus.DUPLICATE),
+                        tuple(3, "PRODUCT003", BatchItemStatus.CREATED),
+                        tuple(4, "PRODUCT002", BatchItemStatus.DUPLICATE)
+                );
+        assertThat(result.items().get(0).product().getPriceUsd()).isEqualTo(
+                BigDecimal.valueOf(10.0).multiply(EXCHANGE_RATE).setScale(2, RoundingMode.HALF_UP)
+        );
+        assertThat(result.items().get(1).errors())
+                .extracting(ValidationErrorData::field)
+                .containsExactly("code");
+
+        assertThat(productRepository.findAll())
+                .extracting(Product::getCode)
+                .containsExactlyInAnyOrder(productToCreate.getCode(), "PRODUCT002", "PRODUCT003");
+    }
+
+    @Test
+    void shouldThrowException_WhenBatchContainsTooManyProducts() {
+        // Arrange
+        List<ProductReqDTO> batch = Collections.nCopies(1001, productToCreate);
+
+        // Act && Assert
+        assertThatThrownBy(() ->
+                productService.createProducts(batch)
+        ).isInstanceOf(BatchSizeExceededException.class);
+    }
+
     @Test
     void shouldGetProduct_WhenProductExists() {
         // Arrange
@@ -139,6 +239,60 @@ class DefaultProductServiceIntegrationTest {
         ).isInstanceOf(ProductNotFoundException.class);
     }
 
+    @Test
+    void shouldUpdateOnlySentFields_WhenVersionIsCurrent() {
+        // Arrange
+        ProductResDTO createdProduct = productService.createProduct(productToCreate);
+        productService.getProduct(createdProduct.getCode());
+        ProductPatchReqDTO patch = new ProductPatchReqDTO(null, new BigDecimal("15.50"), null, createdProduct.getVersion());
+
+        // Act
+        ProductResDTO updatedProduct = productService.updateProduct(createdProduct.getCode(), patch);
+        ProductResDTO fetchedProduct = productService.getProduct(createdProduct.getCode());
+
+        // Assert
+        assertThat(updatedProduct.getPriceEur()).isEqualByComparingTo("15.50");
+        assertThat(updatedProduct.getName()).isEqualTo(productToCreate.getName());
+        assertThat(updatedProduct.isAvailable()).isEqualTo(productToCreate.isAvailable());
+        assertThat(updatedProduct.getVersion()).isEqualTo(createdProduct.getVersion() + 1);
+        assertThat(fetchedProduct.getPriceEur()).isEqualByComparingTo("15.50");
+    }
+
+    @Test
+    void shouldThrowException_WhenUpdatedVersionIsNotCurrent() {
+        // Arrange
+        ProductResDTO createdProduct = productService.createProduct(productToCreate);
+        ProductPatchReqDTO patch = new ProductPatchReqDTO("Renamed product", null, false, createdProduct.getVersion());
+        productService.updateProduct(createdProduct.getCode(), patch);
+
+        // Act && Assert
+        assertThatThrownBy(() ->
+                productService.updateProduct(createdProduct.getCode(), patch)
+        ).isInstanceOf(ProductVersionConflictException.class);
+        assertThatThrownBy(() ->
+                productService.updateProduct("NONEXISTENT", patch)
+        ).isInstanceOf(ProductNotFoundException.class);
+    }
+
+    @Test
+    void shouldMoveUpdatedProductToEndOfChangeFeed() {
+        // Arrange
+        ProductResDTO firstProduct = productService.createProduct(createProductReqDTO("PRODUCT001", "Product", 10.00, true));
+        productService.createProduct(createProductReqDTO("PRODUCT002", "Product", 10.00, true));
+        String since = productService.getProductChanges("", 10).nextSince();
+
+        // Act
+        productService.updateProduct(
+                firstProduct.getCode(), new ProductPatchReqDTO(null, null, false, firstProduct.getVersion())
+        );
+        ProductChangesResDTO changes = productService.getProductChanges(since, 10);
+
+        // Assert
+        assertThat(changes.content())
+                .extracting(ProductResDTO::getCode, ProductResDTO::isAvailable)
+                .containsExactly(tuple("PRODUCT001", false));
+    }
+
     @Test
     void shouldReturnEmptyList_WhenNoProductsExist() {
         // Act
@@ -180,6 +334,358 @@ class DefaultProductServiceIntegrationTest {
                         .limit(expectedSize)
                         .toArray(String[]::new)
                 );
+        assertThat(result.content())
+                .extracting(ProductResDTO::getPriceUsd)
+                .containsOnly(BigDecimal.valueOf(100.0).multiply(EXCHANGE_RATE).setScale(2, RoundingMode.HALF_UP));
+    }
+
+    @Test
+    void shouldNotComputeTotals_WhenCountModeIsNone() {
+        // Arrange
+        List.of("PRODUCT001", "PRODUCT002", "PRODUCT003").forEach(
+                code -> productService.createProduct(createProductReqDTO(code, code, 100.0, true))
+        );
+
+        // Act
+        PageResDTO<ProductResDTO> firstPage = productService.getAllProducts(PageRequest.of(0, 2), CountMode.NONE, Set.of());
+        PageResDTO<ProductResDTO> lastPage = productService.getAllProducts(PageRequest.of(1, 2), CountMode.NONE, Set.of());
+
+        // Assert
+        assertThat(firstPage.countMode()).isEqualTo(CountMode.NONE);
+        assertThat(firstPage.totalElements()).isNull();
+        assertThat(firstPage.totalPages()).isNull();
+        assertThat(firstPage.numberOfElements()).isEqualTo(2);
+        assertThat(firstPage.last()).isFalse();
+        assertThat(lastPage.numberOfElements()).isEqualTo(1);
+        assertThat(lastPage.last()).isTrue();
+    }
+
+    @Test
+    void shouldEstimateTotals_WhenCountModeIsEstimated() {
+        // Arrange
+        List.of("PRODUCT001", "PRODUCT002", "PRODUCT003").forEach(
+                code -> productService.createProduct(createProductReqDTO(code, code, 100.0, true))
+        );
+
+        // Act
+        PageResDTO<ProductResDTO> lastPage = productService.getAllProducts(
+                PageRequest.of(1, 2), CountMode.ESTIMATED, Set.of()
+        );
+
+        // Assert
+        assertThat(lastPage.countMode()).isEqualTo(CountMode.ESTIMATED);
+        assertThat(lastPage.totalElements()).isEqualTo(3);
+        assertThat(lastPage.totalPages()).isEqualTo(2);
+        assertThat(lastPage.last()).isTrue();
+    }
+
+    @Test
+    void shouldEstimateTotalsWithProductCount_WhenPageBeforeLastIsRequested() {
+        // Arrange
+        List.of("PRODUCT001", "PRODUCT002", "PRODUCT003", "PRODUCT004", "PRODUCT005").forEach(
+                code -> productService.createProduct(createProductReqDTO(code, code, 100.0, true))
+        );
+        productCountService.refreshEstimatedCount();
+
+        // Act
+        PageResDTO<ProductResDTO> firstPage = productService.getAllProducts(
+                PageRequest.of(0, 2), CountMode.ESTIMATED, Set.of()
+        );
+
+        // Assert
+        assertThat(firstPage.countMode()).isEqualTo(CountMode.ESTIMATED);
+        assertThat(firstPage.totalElements()).isEqualTo(5);
+        assertThat(firstPage.totalPages()).isEqualTo(3);
+        assertThat(firstPage.last()).isFalse();
+    }
+
+    @Test
+    void shouldFilterProductsByAvailabilityAndEurPrice() {
+        // Arrange
+        productService.createProduct(createProductReqDTO("PRODUCT001", "Cheap product", 10.00, true));
+        productService.createProduct(createProductReqDTO("PRODUCT002", "Product", 20.00, true));
+        productService.createProduct(createProductReqDTO("PRODUCT003", "Unavailable product", 20.00, false));
+        productService.createProduct(createProductReqDTO("PRODUCT004", "Expensive product", 30.00, true));
+        ProductFilter filter = new ProductFilter(true, new BigDecimal("15.00"), new BigDecimal("30.00"), null, null);
+
+        // Act
+        PageResDTO<ProductResDTO> result = productService.getConditionalProducts(
+                PageRequest.of(0, 10, Sort.by("code")), CountMode.EXACT, filter, Set.of()
+        ).body().get();
+
+        // Assert
+        assertThat(result.totalElements()).isEqualTo(2);
+        assertThat(result.content())
+                .extracting(ProductResDTO::getCode)
+                .containsExactly("PRODUCT002", "PRODUCT004");
+    }
+
+    @Test
+    void shouldFilterProductsByRoundedUsdPrice_WhenUsdBoundsAreConvertedToEurBounds() {
+        // Arrange
+        productService.createProduct(createProductReqDTO("PRODUCT001", "Product", 9.99, true));
+        productService.createProduct(createProductReqDTO("PRODUCT002", "Product", 10.00, true));
+        productService.createProduct(createProductReqDTO("PRODUCT003", "Product", 10.01, true));
+        ProductFilter filter = new ProductFilter(null, null, null, new BigDecimal("11.00"), new BigDecimal("11.00"));
+
+        // Act
+        PageResDTO<ProductResDTO> result = productService.getConditionalProducts(
+                PageRequest.of(0, 10), CountMode.EXACT, filter, Set.of()
+        ).body().get();
+
+        // Assert
+        assertThat(result.content())
+                .extracting(ProductResDTO::getCode, ProductResDTO::getPriceUsd)
+                .containsExactly(tuple("PRODUCT002", new BigDecimal("11.00")));
+    }
+
+    @Test
+    void shouldNotComputeTotals_WhenEstimatedCountModeIsUsedWithFilter() {
+        // Arrange
+        List.of("PRODUCT001", "PRODUCT002", "PRODUCT003").forEach(
+                code -> productService.createProduct(createProductReqDTO(code, code, 100.0, true))
+        );
+        ProductFilter filter = new ProductFilter(true, null, null, null, null);
+
+        // Act
+        PageResDTO<ProductResDTO> result = productService.getConditionalProducts(
+                PageRequest.of(0, 2), CountMode.ESTIMATED, filter, Set.of()
+        ).body().get();
+
+        // Assert
+        assertThat(result.countMode()).isEqualTo(CountMode.NONE);
+        assertThat(result.totalElements()).isNull();
+        assertThat(result.numberOfElements()).isEqualTo(2);
+        assertThat(result.last()).isFalse();
+    }
+
+    @Test
+    void shouldSortProductsByEurPrice_WhenSortedByUsdPrice() {
+        // Arrange
+        productService.createProduct(createProductReqDTO("PRODUCT001", "Product", 30.00, true));
+        productService.createProduct(createProductReqDTO("PRODUCT002", "Product", 10.00, true));
+        productService.createProduct(createProductReqDTO("PRODUCT003", "Product", 20.00, true));
+
+        // Act
+        PageResDTO<ProductResDTO> result = productService.getAllProducts(
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "price_usd"))
+        );
+
+        // Assert
+        assertThat(result.content())
+                .extracting(ProductResDTO::getCode)
+                .containsExactly("PRODUCT001", "PRODUCT003", "PRODUCT002");
+    }
+
+    @Test
+    void shouldSortProductsWithEqualValuesById_WhenSortedByName() {
+        // Arrange
+        List.of("PRODUCT003", "PRODUCT001", "PRODUCT002").forEach(
+                code -> productService.createProduct(createProductReqDTO(code, "Product", 10.00, true))
+        );
+
+        // Act
+        PageResDTO<ProductResDTO> ascending = productService.getAllProducts(PageRequest.of(0, 10, Sort.by("name")));
+        PageResDTO<ProductResDTO> descending = productService.getAllProducts(
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "name"))
+        );
+
+        // Assert
+        assertThat(ascending.content())
+                .extracting(ProductResDTO::getCode)
+                .containsExactly("PRODUCT003", "PRODUCT001", "PRODUCT002");
+        assertThat(descending.content())
+                .extracting(ProductResDTO::getCode)
+                .containsExactly("PRODUCT002", "PRODUCT001", "PRODUCT003");
+    }
+
+    @Test
+    void shouldThrowException_WhenOffsetPaginationIsSortedByUnsupportedProperty() {
+        // Act && Assert
+        assertThatThrownBy(() ->
+                productService.getAllProducts(PageRequest.of(0, 2, Sort.by("priceEur")))
+        ).isInstanceOf(UnsupportedSortException.class);
+        assertThatThrownBy(() ->
+                productService.getAllProducts(PageRequest.of(0, 2, Sort.by("name", "code")))
+        ).isInstanceOf(UnsupportedSortException.class);
+    }
+
+    @Test
+    void shouldGetProductChangesInBatches_WhenResumedWithNextToken() {
+        // Arrange
+        productService.createProduct(createProductReqDTO("PRODUCT002", "Product", 10.00, true));
+        productService.createProducts(List.of(
+                createProductReqDTO("PRODUCT003", "Product", 10.00, true),
+                createProductReqDTO("PRODUCT001", "Product", 10.00, true)
+        ));
+
+        // Act
+        ProductChangesResDTO firstBatch = productService.getProductChanges("", 2);
+        ProductChangesResDTO secondBatch = productService.getProductChanges(firstBatch.nextSince(), 2);
+        ProductChangesResDTO emptyBatch = productService.getProductChanges(secondBatch.nextSince(), 2);
+
+        // Assert
+        assertThat(firstBatch.content()).extracting(ProductResDTO::getCode).containsExactly("PRODUCT002", "PRODUCT003");
+        assertThat(firstBatch.hasMore()).isTrue();
+        assertThat(secondBatch.content()).extracting(ProductResDTO::getCode).containsExactly("PRODUCT001");
+        assertThat(secondBatch.hasMore()).isFalse();
+        assertThat(emptyBatch.content()).isEmpty();
+        assertThat(emptyBatch.nextSince()).isEqualTo(secondBatch.nextSince());
+        assertThat(emptyBatch.hasMore()).isFalse();
+    }
+
+    @Test
+    void shouldThrowException_WhenChangeTokenIsInvalid() {
+        // Act && Assert
+        assertThatThrownBy(() ->
+                productService.getProductChanges("not-a-token", 10)
+        ).isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void shouldGetFilteredProductsPageByPage_WhenCursorPaginationIsUsed() {
+        // Arrange
+        productService.createProduct(createProductReqDTO("PRODUCT001", "Product", 10.00, true));
+        productService.createProduct(createProductReqDTO("PRODUCT002", "Product", 10.00, false));
+        productService.createProduct(createProductReqDTO("PRODUCT003", "Product", 10.00, true));
+        productService.createProduct(createProductReqDTO("PRODUCT004", "Product", 10.00, false));
+        ProductFilter filter = new ProductFilter(false, null, null, null, null);
+        Pageable pageable = PageRequest.of(0, 1, Sort.by("code"));
+
+        // Act
+        PageResDTO<ProductResDTO> firstPage = productService.getConditionalProducts("", pageable, filter, Set.of())
+                .body().get();
+        PageResDTO<ProductResDTO> secondPage = productService.getConditionalProducts(
+                firstPage.nextCursor(), pageable, filter, Set.of()
+        ).body().get();
+
+        // Assert
+        assertThat(firstPage.content()).extracting(ProductResDTO::getCode).containsExactly("PRODUCT002");
+        assertThat(secondPage.content()).extracting(ProductResDTO::getCode).containsExactly("PRODUCT004");
+        assertThat(secondPage.nextCursor()).isNull();
+    }
+
+    @Test
+    void shouldRecordPageSizeAndMappingTime_WhenProductsAreListed() {
+        // Arrange
+        List.of("PRODUCT001", "PRODUCT002", "PRODUCT003").forEach(
+                code -> productService.createProduct(createProductReqDTO(code, code, 100.0, true))
+        );
+        DistributionSummary pageSizes = meterRegistry.summary(DefaultProductService.PAGE_SIZE_METRIC, "pagination", "offset");
+        long pageCount = pageSizes.count();
+        double totalPageSize = pageSizes.totalAmount();
+        long mappingCount = meterRegistry.timer(DefaultProductService.MAPPING_METRIC).count();
+
+        // Act
+        productService.getAllProducts(PageRequest.of(0, 2));
+
+        // Assert
+        assertThat(pageSizes.count()).isEqualTo(pageCount + 1);
+        assertThat(pageSizes.totalAmount()).isEqualTo(totalPageSize + 2);
+        assertThat(meterRegistry.timer(DefaultProductService.MAPPING_METRIC).count()).isEqualTo(mappingCount + 1);
+    }
+
+    @Test
+    void shouldReturnSameProductETag_WhenProductAndRequestedCurrenciesDidNotChange() {
+        // Arrange
+        productService.createProduct(productToCreate);
+
+        // Act
+        String eTag = productService.getConditionalProduct(productToCreate.getCode(), Set.of()).eTag();
+        String repeatedETag = productService.getConditionalProduct(productToCreate.getCode(), Set.of()).eTag();
+        String eTagWithCurrencies = productService.getConditionalProduct(
+                productToCreate.getCode(), Set.of(ExchangeRateCurrency.USD)
+        ).eTag();
+
+        // Assert
+        assertThat(eTag).startsWith("\"").endsWith("\"");
+        assertThat(repeatedETag).isEqualTo(eTag);
+        assertThat(eTagWithCurrencies).isNotEqualTo(eTag);
+    }
+
+    @Test
+    void shouldChangePageETag_WhenProductOnPageIsUpdated() {
+        // Arrange
+        List.of("PRODUCT001", "PRODUCT002", "PRODUCT003").forEach(
+                code -> productService.createProduct(createProductReqDTO(code, code, 100.0, true))
+        );
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("code"));
+        String eTag = productService.getConditionalProducts(pageable, CountMode.EXACT, ProductFilter.none(), Set.of()).eTag();
+        String unchangedETag = productService.getConditionalProducts(pageable, CountMode.EXACT, ProductFilter.none(), Set.of()).eTag();
+
+        // Act
+        Product product = productRepository.findProductByCode("PRODUCT002").orElseThrow();
+        product.setName("Renamed product");
+        productRepository.saveAndFlush(product);
+        String updatedETag = productService.getConditionalProducts(pageable, CountMode.EXACT, ProductFilter.none(), Set.of()).eTag();
+
+        // Assert
+        assertThat(unchangedETag).isEqualTo(eTag);
+        assertThat(updatedETag).isNotEqualTo(eTag);
+    }
+
+    @Test
+    void shouldGetAllProductsPageByPage_WhenCursorPaginationIsUsed() {
+        // Arrange
+        List.of("PRODUCT004", "PRODUCT002", "PRODUCT005", "PRODUCT001", "PRODUCT003").forEach(
+                code -> productService.createProduct(createProductReqDTO(code, code, 100.0, true))
+        );
+        Pageable pageable = PageRequest.of(0, 2, Sort.by("code"));
+
+        // Act
+        List<PageResDTO<ProductResDTO>> pages = getAllPagesWithCursor(pageable);
+
+        // Assert
+        assertThat(pages).hasSize(3);
+        assertThat(pages).extracting(PageResDTO::first).containsExactly(true, false, false);
+        assertThat(pages).extracting(PageResDTO::last).containsExactly(false, false, true);
+        assertThat(pages.getLast().nextCursor()).isNull();
+        assertThat(pages).flatExtracting(PageResDTO::content)
+                .extracting(ProductResDTO::getCode)
+                .containsExactly("PRODUCT001", "PRODUCT002", "PRODUCT003", "PRODUCT004", "PRODUCT005");
+    }
+
+    @Test
+    void shouldGetAllProductsInDescendingIdOrder_WhenCursorPaginationIsUsed() {
+        // Arrange
+        List<String> codes = List.of("PRODUCT003", "PRODUCT001", "PRODUCT002");
+        codes.forEach(code -> productService.createProduct(createProductReqDTO(code, code, 100.0, true)));
+        Pageable pageable = PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "id"));
+
+        // Act
+        List<PageResDTO<ProductResDTO>> pages = getAllPagesWithCursor(pageable);
+
+        // Assert
+        assertThat(pages).flatExtracting(PageResDTO::content)
+                .extracting(ProductResDTO::getCode)
+                .containsExactlyElementsOf(codes.reversed());
+    }
+
+    @Test
+    void shouldThrowException_WhenCursorIsInvalid() {
+        // Act && Assert
+        assertThatThrownBy(() ->
+                productService.getAllProducts("not-a-cursor", Pageable.ofSize(2), Set.of())
+        ).isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void shouldThrowException_WhenCursorPaginationIsSortedByUnsupportedProperty() {
+        // Act && Assert
+        assertThatThrownBy(() ->
+                productService.getAllProducts("", PageRequest.of(0, 2, Sort.by("name")), Set.of())
+        ).isInstanceOf(UnsupportedSortException.class);
+    }
+
+    private List<PageResDTO<ProductResDTO>> getAllPagesWithCursor(Pageable pageable) {
+        List<PageResDTO<ProductResDTO>> pages = new ArrayList<>();
+        String cursor = "";
+        do {
+            PageResDTO<ProductResDTO> page = productService.getAllProducts(cursor, pageable, Set.of());
+            pages.add(page);
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return pages;
     }
 
     private ProductReqDTO createProductReqDTO(String code, String name, double price, boolean available) {
@@ -0,0 +1,153 @@
+package com.mkorpar.productservice.services;
+
+import com.mkorpar.productservice.clients.ExchangeRateApiClient;
+import com.mkorpar.productservice.data.dtos.ProductPatchReqDTO;
+import com.mkorpar.productservice.data.dtos.ProductReqDTO;
+import com.mkorpar.productservice.data.dtos.ProductResDTO;
+import com.mkorpar.productservice.data.dtos.ProductSuggestionIndexResDTO;
+import com.mkorpar.productservice.data.dtos.ProductSuggestionResDTO;
+import com.mkorpar.productservice.data.models.Product;
+import com.mkorpar.productservice.repositories.ProductRepository;
+import com.mkorpar.productservice.services.impl.DefaultProductSuggestionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class DefaultProductSuggestionServiceIntegrationTest {
+
+    @Autowired
+    private DefaultProductSuggestionService productSuggestionService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoBean
+    private ExchangeRateApiClient exchangeRateApiClient;
+
+    @BeforeEach
+    void setUp() {
+        productRepository.deleteAll();
+        productRepository.saveAll(List.of(
+                createProduct("MOUSE00001", "Wireless mouse"),
+                createProduct("KEYBOARD01", "Mechanical keyboard"),
+                createProduct("MONITOR001", "Curved monitor 27\"")
+        ));
+        productSuggestionService.rebuildIndex();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+        productSuggestionService.rebuildIndex();
+    }
+
+    @Test
+    void shouldSuggestProductsByCodeAndNameWordPrefix_WhenIndexIsBuilt() {
+        // Act
+        List<ProductSuggestionResDTO> codeSuggestions = productSuggestionService.suggestProducts("mo", 10);
+        List<ProductSuggestionResDTO> nameSuggestions = productSuggestionService.suggestProducts("MECH", 10);
+        List<ProductSuggestionResDTO> limitedSuggestions = productSuggestionService.suggestProducts("m", 1);
+
+        // Assert
+        assertThat(codeSuggestions)
+                .extracting(ProductSuggestionResDTO::code)
+                .containsExactly("MONITOR001", "MOUSE00001");
+        assertThat(nameSuggestions).containsExactly(new ProductSuggestionResDTO("KEYBOARD01", "Mechanical keyboard"));
+        assertThat(limitedSuggestions).hasSize(1);
+        assertThat(productSuggestionService.suggestProducts("x", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldAddCreatedProductsToIndex_WhenProductsAreCreated() {
+        // Act
+        productService.createProduct(new ProductReqDTO("MOUSEPAD01", "Mouse pad", new BigDecimal("5.00"), true));
+        productService.createProducts(List.of(
+                new ProductReqDTO("HEADSET001", "Wireless headset", new BigDecimal("50.00"), true)
+        ));
+
+        // Assert
+        assertThat(productSuggestionService.suggestProducts("mousep", 10))
+                .extracting(ProductSuggestionResDTO::code)
+                .containsExactly("MOUSEPAD01");
+        assertThat(productSuggestionService.suggestProducts("wireless", 10))
+                .extracting(ProductSuggestionResDTO::code)
+                .containsExactlyInAnyOrder("HEADSET001", "MOUSE00001");
+        assertThat(productSuggestionService.getIndexStatistics().products()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldReplaceProductInIndex_WhenProductNameIsUpdated() {
+        // Arrange
+        ProductResDTO product = productService.getProduct("MOUSE00001");
+
+        // Act
+        productService.updateProduct(
+                product.getCode(), new ProductPatchReqDTO("Gaming mouse", null, null, product.getVersion())
+        );
+
+        // Assert
+        assertThat(productSuggestionService.suggestProducts("gam", 10))
+                .containsExactly(new ProductSuggestionResDTO("MOUSE00001", "Gaming mouse"));
+        assertThat(productSuggestionService.suggestProducts("wireless", 10)).isEmpty();
+        assertThat(productSuggestionService.getIndexStatistics().products()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldNotAddProductsToIndex_WhenTransactionIsRolledBack() {
+        // Act
+        transactionTemplate.executeWithoutResult(status -> {
+            productService.createProduct(new ProductReqDTO("MOUSEPAD01", "Mouse pad", new BigDecimal("5.00"), true));
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        assertThat(productSuggestionService.suggestProducts("mousep", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldIndexProductsFromDatabaseAndReportMemory_WhenIndexIsRebuilt() {
+        // Arrange
+        productRepository.save(createProduct("SPEAKER001", "Speaker"));
+        ProductSuggestionIndexResDTO statisticsBeforeRebuild = productSuggestionService.getIndexStatistics();
+
+        // Act
+        ProductSuggestionIndexResDTO statistics = productSuggestionService.rebuildIndex();
+
+        // Assert
+        assertThat(productSuggestionService.suggestProducts("spea", 10))
+                .extracting(ProductSuggestionResDTO::code)
+                .containsExactly("SPEAKER001");
+        assertThat(statistics.products()).isEqualTo(4);
+        // Codes and distinct name words
+        assertThat(statistics.keys()).isEqualTo(12);
+        assertThat(statistics.memoryBytes()).isGreaterThan(statisticsBeforeRebuild.memoryBytes());
+    }
+
+    private Product createProduct(String code, String name) {
+        return Product.builder()
+                .code(code)
+                .name(name)
+                .priceEur(new BigDecimal("10.00"))
+                .available(true)
+                .build();
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.mkorpar.productservice.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvUtilsTest {
+
+    @Test
+    void shouldNotQuoteValue_WhenValueDoesNotContainSpecialCharacters() {
+        // Act
+        String result = CsvUtils.escape("Wireless Mouse");
+
+        // Assert
+        assertThat(result).isEqualTo("Wireless Mouse");
+    }
+
+    @Test
+    void shouldQuoteValueAndDoubleQuotes_WhenValueContainsSpecialCharacters() {
+        // Act
+        String result = CsvUtils.escape("Mouse, \"wireless\"");
+
+        // Assert
+        assertThat(result).isEqualTo("\"Mouse, \"\"wireless\"\"\"");
+    }
+
+    @Test
+    void shouldParseEscapedValues_WhenRecordContainsQuotedValues() {
+        // Arrange
+        String record = "PRODUCT001," + CsvUtils.escape("Mouse, \"wireless\"\nsecond line") + ",10.00,";
+
+        // Act
+        List<String> result = CsvUtils.parseRecord(record);
+
+        // Assert
+        assertThat(result).containsExactly("PRODUCT001", "Mouse, \"wireless\"\nsecond line", "10.00", "");
+    }
+
+    @Test
+    void shouldFormatCopyRecordWithEscapedValuesAndPlainDecimals() {
+        // Act
+        String result = CsvUtils.formatCopyRecord(
+                1L, "PRODUCT001", "Mouse, \"wireless\"\nsecond line", new BigDecimal("1E+3"), true
+        );
+
+        // Assert
+        assertThat(result).isEqualTo("1,PRODUCT001,\"Mouse, \"\"wireless\"\"\nsecond line\",1000,true\n");
+    }
+
+    @Test
+    void shouldDistinguishNullFromEmptyValue_WhenCopyRecordIsFormatted() {
+        // Act
+        String result = CsvUtils.formatCopyRecord(null, "", new BigDecimal("10.50"), null);
+
+        // Assert
+        assertThat(result).isEqualTo(",\"\",10.50,\n");
+    }
+
+}